@@ -0,0 +1,142 @@
+package com.minseok.batch;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.h2.jdbcx.JdbcDataSource;
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * package      : com.minseok.batch
+ * class        : BenchmarkDatabase
+ * author       : blenderkims
+ * date         : 2026/10/18
+ * description  : embedded h2 (mariadb mode) database with the batch entities for the benchmarks.
+ *                mariadb(url) runs them on a real (scratch) mariadb schema instead.
+ */
+public class BenchmarkDatabase implements AutoCloseable {
+    private static final int SEED_BATCH_SIZE = 1000;
+    private final DataSource dataSource;
+    private final LocalContainerEntityManagerFactoryBean entityManagerFactoryBean;
+    private final JpaTransactionManager transactionManager;
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Instantiates a new Benchmark database.
+     *
+     * @param name the database name
+     */
+    public BenchmarkDatabase(String name) {
+        this(h2(name), "org.hibernate.dialect.H2Dialect");
+    }
+
+    /**
+     * Instantiates a new Benchmark database. the entity tables are created and dropped on close.
+     *
+     * @param dataSource the data source
+     * @param dialect    the hibernate dialect
+     */
+    public BenchmarkDatabase(DataSource dataSource, String dialect) {
+        this.dataSource = dataSource;
+        final Map<String, Object> properties = new HashMap<>();
+        properties.put("hibernate.dialect", dialect);
+        properties.put("hibernate.hbm2ddl.auto", "create-drop");
+        properties.put("hibernate.physical_naming_strategy", CamelCaseToUnderscoresNamingStrategy.class.getName());
+        properties.put("hibernate.jdbc.batch_size", "1000");
+        properties.put("hibernate.order_inserts", "true");
+        properties.put("hibernate.order_updates", "true");
+        entityManagerFactoryBean = new LocalContainerEntityManagerFactoryBean();
+        entityManagerFactoryBean.setDataSource(dataSource);
+        entityManagerFactoryBean.setPackagesToScan("com.minseok.batch.entity");
+        entityManagerFactoryBean.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        entityManagerFactoryBean.setJpaPropertyMap(properties);
+        entityManagerFactoryBean.afterPropertiesSet();
+        transactionManager = new JpaTransactionManager(getEntityManagerFactory());
+        transactionManager.setDataSource(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    /**
+     * Mariadb benchmark database.
+     *
+     * @param url the jdbc url of a scratch schema (with user and password)
+     * @return the benchmark database
+     */
+    public static BenchmarkDatabase mariadb(String url) {
+        final HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(url);
+        dataSource.addDataSourceProperty("allowLocalInfile", "true");
+        return new BenchmarkDatabase(dataSource, "org.hibernate.dialect.MariaDB103Dialect");
+    }
+
+    public DataSource getDataSource() {
+        return dataSource;
+    }
+
+    public EntityManagerFactory getEntityManagerFactory() {
+        return entityManagerFactoryBean.getObject();
+    }
+
+    public JdbcTemplate getJdbcTemplate() {
+        return jdbcTemplate;
+    }
+
+    public JpaTransactionManager getTransactionManager() {
+        return transactionManager;
+    }
+
+    /**
+     * Transaction template transaction template.
+     *
+     * @return the transaction template
+     */
+    public TransactionTemplate transactionTemplate() {
+        return new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Seed users. tb_user is refilled with the given number of rows.
+     *
+     * @param rows the rows
+     */
+    public void seedUsers(int rows) {
+        jdbcTemplate.update("delete from tb_user");
+        final Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        final List<Object[]> batch = new ArrayList<>(SEED_BATCH_SIZE);
+        for (int i = 0; i < rows; i++) {
+            batch.add(new Object[]{String.format("%032x", i), "user" + i + "@example.com", "password"
+                    , "name" + i, "nickname" + i, "010" + i, now, now});
+            if (batch.size() == SEED_BATCH_SIZE || i == rows - 1) {
+                jdbcTemplate.batchUpdate("insert into tb_user (id, email, password, name, nickname, mobile, created_at, modified_at)"
+                        + " values (?, ?, ?, ?, ?, ?, ?, ?)", batch);
+                batch.clear();
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        entityManagerFactoryBean.destroy();
+        if (dataSource instanceof HikariDataSource) {
+            ((HikariDataSource) dataSource).close();
+        }
+    }
+
+    private static DataSource h2(String name) {
+        final JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + name + ";MODE=MariaDB;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        return dataSource;
+    }
+}
@@ -0,0 +1,54 @@
+package com.minseok.batch.entity;
+
+import com.minseok.batch.BenchmarkDatabase;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * package      : com.minseok.batch.entity
+ * class        : UserBakMappingBenchmark
+ * author       : blenderkims
+ * date         : 2026/10/18
+ * description  : cost of one user to user bak mapping (the item processor of every job).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class UserBakMappingBenchmark {
+    @Param({"10000"})
+    public int rows;
+
+    private List<User> users;
+    private int index;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        try (BenchmarkDatabase database = new BenchmarkDatabase("mapping")) {
+            database.seedUsers(rows);
+            final EntityManager entityManager = database.getEntityManagerFactory().createEntityManager();
+            try {
+                users = entityManager.createQuery("select u from User u order by u.id", User.class).getResultList();
+            } finally {
+                entityManager.close();
+            }
+        }
+    }
+
+    @Benchmark
+    public UserBak of() {
+        final User user = users.get(index);
+        index = (index + 1) % users.size();
+        return UserBak.of(user);
+    }
+}
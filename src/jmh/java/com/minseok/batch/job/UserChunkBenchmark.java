@@ -0,0 +1,132 @@
+package com.minseok.batch.job;
+
+import com.minseok.batch.BenchmarkDatabase;
+import com.minseok.batch.entity.User;
+import com.minseok.batch.entity.UserBak;
+import com.minseok.batch.reader.KeysetPagingItemReaderBuilder;
+import com.minseok.batch.writer.UserBakJdbcItemWriter;
+import org.hibernate.SessionFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamReader;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.batch.item.database.builder.HibernateCursorItemReaderBuilder;
+import org.springframework.batch.item.database.builder.JpaItemWriterBuilder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * package      : com.minseok.batch.job
+ * class        : UserChunkBenchmark
+ * author       : blenderkims
+ * date         : 2026/10/18
+ * description  : end-to-end tb_user to tb_user_bak copy (read, process, write per committed chunk)
+ *                of a seeded table, for every reader and writer combination.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class UserChunkBenchmark {
+    private static final int CHUNK_SIZE = 1000;
+    private static final int PAGE_SIZE = 500;
+    private static final int FETCH_SIZE = 1000;
+
+    @Param({"10000", "100000"})
+    public int rows;
+
+    @Param({"keyset", "stateless"})
+    public String reader;
+
+    @Param({"jpa", "jdbc"})
+    public String writer;
+
+    private BenchmarkDatabase database;
+    private TransactionTemplate transactionTemplate;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        database = new BenchmarkDatabase("chunk");
+        database.seedUsers(rows);
+        transactionTemplate = database.transactionTemplate();
+    }
+
+    @Setup(Level.Invocation)
+    public void clear() {
+        database.getJdbcTemplate().update("delete from tb_user_bak");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        database.close();
+    }
+
+    @Benchmark
+    public int copy() throws Exception {
+        final ItemStreamReader<User> itemReader = itemReader();
+        final ItemWriter<UserBak> itemWriter = itemWriter();
+        int count = 0;
+        itemReader.open(new ExecutionContext());
+        try {
+            boolean more = true;
+            while (more) {
+                final List<UserBak> chunk = new ArrayList<>(CHUNK_SIZE);
+                User user;
+                while (chunk.size() < CHUNK_SIZE && (user = itemReader.read()) != null) {
+                    chunk.add(UserBak.of(user));
+                }
+                more = chunk.size() == CHUNK_SIZE;
+                if (!chunk.isEmpty()) {
+                    transactionTemplate.executeWithoutResult(status -> {
+                        try {
+                            itemWriter.write(chunk);
+                        } catch (Exception e) {
+                            throw new IllegalStateException(e);
+                        }
+                    });
+                    count += chunk.size();
+                }
+            }
+        } finally {
+            itemReader.close();
+        }
+        return count;
+    }
+
+    private ItemStreamReader<User> itemReader() {
+        if ("stateless".equals(reader)) {
+            return new HibernateCursorItemReaderBuilder<User>()
+                    .saveState(false)
+                    .sessionFactory(database.getEntityManagerFactory().unwrap(SessionFactory.class))
+                    .useStatelessSession(true)
+                    .fetchSize(FETCH_SIZE)
+                    .queryString("from User u order by u.id asc")
+                    .build();
+        }
+        return new KeysetPagingItemReaderBuilder<User>()
+                .saveState(false)
+                .entityManagerFactory(database.getEntityManagerFactory())
+                .entityClass(User.class)
+                .key("id", User::getId)
+                .pageSize(PAGE_SIZE)
+                .build();
+    }
+
+    private ItemWriter<UserBak> itemWriter() {
+        if ("jdbc".equals(writer)) {
+            return new UserBakJdbcItemWriter(database.getJdbcTemplate(), 100);
+        }
+        return new JpaItemWriterBuilder<UserBak>().entityManagerFactory(database.getEntityManagerFactory()).build();
+    }
+}
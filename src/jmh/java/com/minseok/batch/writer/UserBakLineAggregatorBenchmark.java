@@ -0,0 +1,89 @@
+package com.minseok.batch.writer;
+
+import com.minseok.batch.entity.UserBak;
+import org.apache.commons.lang3.reflect.FieldUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.batch.item.file.transform.BeanWrapperFieldExtractor;
+import org.springframework.batch.item.file.transform.DelimitedLineAggregator;
+import org.springframework.batch.item.file.transform.LineAggregator;
+
+import java.lang.reflect.Field;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * package      : com.minseok.batch.writer
+ * class        : UserBakLineAggregatorBenchmark
+ * author       : blenderkims
+ * date         : 2026/10/18
+ * description  : cost of one csv line of the user bak export.
+ *                beanWrapper is the reflective extractor used by thread user batch,
+ *                getter reads the same fields through plain getters and csv is the
+ *                reflection-free UserBakCsvLineAggregator.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class UserBakLineAggregatorBenchmark {
+    private static final int ITEMS = 1024;
+
+    @Param({"beanWrapper", "getter", "csv"})
+    public String aggregator;
+
+    private LineAggregator<UserBak> lineAggregator;
+    private List<UserBak> items;
+    private int index;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        lineAggregator = lineAggregator();
+        final LocalDateTime now = LocalDateTime.now();
+        items = new ArrayList<>(ITEMS);
+        for (int i = 0; i < ITEMS; i++) {
+            items.add(UserBak.builder()
+                    .id(String.format("%032x", i))
+                    .email("user" + i + "@example.com")
+                    .password("password")
+                    .name("name" + i)
+                    .nickname("nickname" + i)
+                    .mobile("010" + i)
+                    .createdAt(now)
+                    .modifiedAt(now)
+                    .build());
+        }
+    }
+
+    @Benchmark
+    public String aggregate() {
+        final UserBak item = items.get(index);
+        index = (index + 1) & (ITEMS - 1);
+        return lineAggregator.aggregate(item);
+    }
+
+    private LineAggregator<UserBak> lineAggregator() {
+        if ("csv".equals(aggregator)) {
+            return new UserBakCsvLineAggregator();
+        }
+        final DelimitedLineAggregator<UserBak> delimitedLineAggregator = new DelimitedLineAggregator<>();
+        delimitedLineAggregator.setDelimiter(",");
+        if ("getter".equals(aggregator)) {
+            delimitedLineAggregator.setFieldExtractor(item -> new Object[]{item.getId(), item.getEmail(), item.getPassword()
+                    , item.getName(), item.getNickname(), item.getMobile(), item.getCreatedAt(), item.getModifiedAt()});
+        } else {
+            final BeanWrapperFieldExtractor<UserBak> extractor = new BeanWrapperFieldExtractor<>();
+            extractor.setNames(FieldUtils.getAllFieldsList(UserBak.class).stream().map(Field::getName).toArray(String[]::new));
+            delimitedLineAggregator.setFieldExtractor(extractor);
+        }
+        return delimitedLineAggregator;
+    }
+}
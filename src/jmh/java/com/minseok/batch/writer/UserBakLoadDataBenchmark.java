@@ -0,0 +1,100 @@
+package com.minseok.batch.writer;
+
+import com.minseok.batch.BenchmarkDatabase;
+import com.minseok.batch.entity.UserBak;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.batch.item.database.builder.JpaItemWriterBuilder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * package      : com.minseok.batch.writer
+ * class        : UserBakLoadDataBenchmark
+ * author       : blenderkims
+ * date         : 2026/10/18
+ * description  : rows/sec of load data local infile against the jpa and jdbc writers for one committed chunk.
+ *                h2 has no load data, so it runs on the mariadb schema of -PmariadbUrl.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class UserBakLoadDataBenchmark {
+    private static final int CHUNK_SIZE = 1000;
+
+    @Param({"jpa", "jdbc", "load"})
+    public String writer;
+
+    private BenchmarkDatabase database;
+    private TransactionTemplate transactionTemplate;
+    private ItemWriter<UserBak> itemWriter;
+    private long sequence;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        final String url = System.getProperty("benchmark.mariadb.url");
+        if (url == null) {
+            throw new IllegalStateException("mariadb url is required: ./gradlew jmh -PmariadbUrl=jdbc:mariadb://...");
+        }
+        database = BenchmarkDatabase.mariadb(url);
+        transactionTemplate = database.transactionTemplate();
+        if ("load".equals(writer)) {
+            itemWriter = new UserBakLoadDataItemWriter(database.getJdbcTemplate(), "tb_user_bak");
+        } else if ("jdbc".equals(writer)) {
+            itemWriter = new UserBakJdbcItemWriter(database.getJdbcTemplate(), 100);
+        } else {
+            itemWriter = new JpaItemWriterBuilder<UserBak>().entityManagerFactory(database.getEntityManagerFactory()).build();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        database.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CHUNK_SIZE)
+    public void writeChunk() {
+        final List<UserBak> chunk = chunk();
+        transactionTemplate.executeWithoutResult(status -> {
+            try {
+                itemWriter.write(chunk);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
+    private List<UserBak> chunk() {
+        final LocalDateTime now = LocalDateTime.now();
+        final List<UserBak> chunk = new ArrayList<>(CHUNK_SIZE);
+        for (int i = 0; i < CHUNK_SIZE; i++) {
+            final long id = sequence++;
+            chunk.add(UserBak.builder()
+                    .id(String.format("%032x", id))
+                    .email("user" + id + "@example.com")
+                    .password("password")
+                    .name("name" + id)
+                    .nickname("nickname" + id)
+                    .mobile("010" + id)
+                    .createdAt(now)
+                    .modifiedAt(now)
+                    .build());
+        }
+        return chunk;
+    }
+}
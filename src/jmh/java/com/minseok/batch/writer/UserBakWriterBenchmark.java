@@ -0,0 +1,94 @@
+package com.minseok.batch.writer;
+
+import com.minseok.batch.BenchmarkDatabase;
+import com.minseok.batch.entity.UserBak;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.batch.item.database.builder.JpaItemWriterBuilder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * package      : com.minseok.batch.writer
+ * class        : UserBakWriterBenchmark
+ * author       : blenderkims
+ * date         : 2026/10/18
+ * description  : rows/sec of the tb_user_bak writers for one committed chunk.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class UserBakWriterBenchmark {
+    private static final int CHUNK_SIZE = 1000;
+
+    @Param({"jpa", "jdbc"})
+    public String writer;
+
+    @Param({"100"})
+    public int batchSize;
+
+    private BenchmarkDatabase database;
+    private TransactionTemplate transactionTemplate;
+    private ItemWriter<UserBak> itemWriter;
+    private long sequence;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        database = new BenchmarkDatabase("writer");
+        transactionTemplate = database.transactionTemplate();
+        itemWriter = "jdbc".equals(writer)
+                ? new UserBakJdbcItemWriter(database.getJdbcTemplate(), batchSize)
+                : new JpaItemWriterBuilder<UserBak>().entityManagerFactory(database.getEntityManagerFactory()).build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        database.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CHUNK_SIZE)
+    public void writeChunk() {
+        final List<UserBak> chunk = chunk();
+        transactionTemplate.executeWithoutResult(status -> {
+            try {
+                itemWriter.write(chunk);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
+    private List<UserBak> chunk() {
+        final LocalDateTime now = LocalDateTime.now();
+        final List<UserBak> chunk = new ArrayList<>(CHUNK_SIZE);
+        for (int i = 0; i < CHUNK_SIZE; i++) {
+            final long id = sequence++;
+            chunk.add(UserBak.builder()
+                    .id(String.format("%032x", id))
+                    .email("user" + id + "@example.com")
+                    .password("password")
+                    .name("name" + id)
+                    .nickname("nickname" + id)
+                    .mobile("010" + id)
+                    .createdAt(now)
+                    .modifiedAt(now)
+                    .build());
+        }
+        return chunk;
+    }
+}
@@ -1,13 +1,28 @@
 package com.minseok.batch.configuration;
 
+import com.minseok.batch.executor.BoundedVirtualThreadTaskExecutor;
+import com.minseok.batch.executor.ConnectionBudget;
+import com.minseok.batch.executor.WaitTimeTaskDecorator;
+import com.minseok.batch.listener.BatchMetricsListener;
 import com.minseok.batch.listener.WorkerTaskExecutorShutdownListener;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.batch.core.JobExecutionListener;
 import org.springframework.batch.core.configuration.annotation.EnableBatchProcessing;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.util.StringUtils;
+
+import java.nio.file.Paths;
+import java.util.function.ToIntFunction;
 
 /**
  * package      : com.minseok.batch.configuration
@@ -16,23 +31,70 @@ import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
  * date         : 2023/04/11
  * description  :
  */
+@Slf4j
 @EnableJpaAuditing
 @EnableBatchProcessing
 @Configuration
 public class BatchConfiguration {
 
     public static final int POOL_SIZE = Runtime.getRuntime().availableProcessors();
+    private static final String EXECUTOR_TYPE_VIRTUAL = "virtual";
+
+    /**
+     * Connection budget connection budget.
+     * (maximum-pool-size - reserved-connections) of the primary and the replica pool, shared by every worker sizing.
+     *
+     * @param maximumPoolSize        the maximum pool size of the primary connection pool
+     * @param replicaUrl             the replica url (empty: no replica)
+     * @param replicaMaximumPoolSize the maximum pool size of the replica connection pool
+     * @param reservedConnections    the primary connections kept out of the budget
+     * @return the connection budget
+     */
+    @Bean("connectionBudget")
+    public ConnectionBudget connectionBudget(
+            @Value("${spring.datasource.hikari.maximum-pool-size:10}") int maximumPoolSize
+            , @Value("${spring.datasource.replica.url:}") String replicaUrl
+            , @Value("${spring.datasource.replica.hikari.maximum-pool-size:10}") int replicaMaximumPoolSize
+            , @Value("${spring.batch.executor.reserved-connections:2}") int reservedConnections) {
+        return new ConnectionBudget(maximumPoolSize, StringUtils.hasText(replicaUrl) ? replicaMaximumPoolSize : 0
+                , reservedConnections, POOL_SIZE * 2);
+    }
 
     /**
-     * Worker task executor thread pool task executor.
+     * Worker task executor task executor.
+     * the concurrency is the connection budget of a partition holding a reader and a chunk transaction connection,
+     * the partitions beyond it queue in submit order and their wait is recorded as batch.executor.wait.
+     * jobs whose partitions hold more connections throttle on top of it (ThrottledTaskExecutor).
+     * spring.batch.executor.type=virtual runs the workers on virtual threads parked on a fair semaphore instead of a pool.
      *
-     * @return the thread pool task executor
+     * @param executorType     the executor type (platform or virtual)
+     * @param connectionBudget the connection budget
+     * @param meterRegistry    the meter registry
+     * @return the task executor
      */
     @Bean("workerTaskExecutor")
-    public ThreadPoolTaskExecutor workerTaskExecutor() {
+    public TaskExecutor workerTaskExecutor(
+            @Value("${spring.batch.executor.type:platform}") String executorType
+            , ConnectionBudget connectionBudget
+            , MeterRegistry meterRegistry) {
+        final int concurrency = connectionBudget.concurrency(1, 1);
+        final WaitTimeTaskDecorator waitTimeTaskDecorator = new WaitTimeTaskDecorator(Timer.builder("batch.executor.wait")
+                .description("time a task waits for a slot of the connection budget")
+                .tag("executor", "workerTaskExecutor")
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+        if (EXECUTOR_TYPE_VIRTUAL.equalsIgnoreCase(executorType)) {
+            log.info("[worker task executor] virtual threads (max concurrency: {})", concurrency);
+            final BoundedVirtualThreadTaskExecutor taskExecutor = new BoundedVirtualThreadTaskExecutor("worker-vthread-", concurrency);
+            taskExecutor.setTaskDecorator(waitTimeTaskDecorator);
+            return taskExecutor;
+        }
+        log.info("[worker task executor] platform threads (max concurrency: {})", concurrency);
         ThreadPoolTaskExecutor taskExecutor = new ThreadPoolTaskExecutor();
-        taskExecutor.setCorePoolSize((int) (POOL_SIZE * 1.5));
-        taskExecutor.setMaxPoolSize(POOL_SIZE * 2);
+        // a fixed pool over an unbounded fifo queue: no thread beyond the budget, partitions start in submit order
+        taskExecutor.setCorePoolSize(concurrency);
+        taskExecutor.setMaxPoolSize(concurrency);
+        taskExecutor.setTaskDecorator(waitTimeTaskDecorator);
         taskExecutor.setWaitForTasksToCompleteOnShutdown(true);
         taskExecutor.setAllowCoreThreadTimeOut(true);
         taskExecutor.setThreadNamePrefix("worker-thread-");
@@ -48,7 +110,52 @@ public class BatchConfiguration {
      */
     @Bean("workerTaskExecutorShutdownListener")
     public JobExecutionListener workerTaskExecutorShutdownListener(
-            @Qualifier("workerTaskExecutor") ThreadPoolTaskExecutor workerTaskExecutor) {
+            @Qualifier("workerTaskExecutor") TaskExecutor workerTaskExecutor) {
         return new WorkerTaskExecutorShutdownListener(workerTaskExecutor);
     }
+
+    /**
+     * Worker task executor metrics meter binder.
+     * active workers, queue depth and connection budget of the worker task executor.
+     * (hikari pool metrics, e.g. hikaricp.connections.acquire, are bound by spring boot)
+     *
+     * @param workerTaskExecutor the worker task executor
+     * @return the meter binder
+     */
+    @Bean("workerTaskExecutorMetrics")
+    public MeterBinder workerTaskExecutorMetrics(@Qualifier("workerTaskExecutor") TaskExecutor workerTaskExecutor) {
+        return (registry) -> {
+            if (workerTaskExecutor instanceof ThreadPoolTaskExecutor) {
+                final ThreadPoolTaskExecutor executor = (ThreadPoolTaskExecutor) workerTaskExecutor;
+                gauge(registry, "batch.executor.active", executor, ThreadPoolTaskExecutor::getActiveCount);
+                gauge(registry, "batch.executor.queued", executor, e -> e.getThreadPoolExecutor().getQueue().size());
+                gauge(registry, "batch.executor.budget", executor, ThreadPoolTaskExecutor::getMaxPoolSize);
+            } else if (workerTaskExecutor instanceof BoundedVirtualThreadTaskExecutor) {
+                final BoundedVirtualThreadTaskExecutor executor = (BoundedVirtualThreadTaskExecutor) workerTaskExecutor;
+                gauge(registry, "batch.executor.active", executor, BoundedVirtualThreadTaskExecutor::getActiveCount);
+                gauge(registry, "batch.executor.queued", executor, BoundedVirtualThreadTaskExecutor::getQueueLength);
+                gauge(registry, "batch.executor.budget", executor, BoundedVirtualThreadTaskExecutor::getMaxConcurrency);
+            }
+        };
+    }
+
+    /**
+     * Batch metrics listener batch metrics listener.
+     * registered on every job and chunk step by AbstractBatch.
+     *
+     * @param meterRegistry the meter registry
+     * @param metricsFile   the metrics file, written after every job (empty: disabled)
+     * @return the batch metrics listener
+     */
+    @Bean("batchMetricsListener")
+    public BatchMetricsListener batchMetricsListener(MeterRegistry meterRegistry
+            , @Value("${spring.batch.metrics.file:}") String metricsFile) {
+        return new BatchMetricsListener(meterRegistry, StringUtils.hasText(metricsFile) ? Paths.get(metricsFile) : null);
+    }
+
+    private static <T> void gauge(MeterRegistry registry, String name, T executor, ToIntFunction<T> value) {
+        Gauge.builder(name, executor, e -> value.applyAsInt(e))
+                .tag("executor", "workerTaskExecutor")
+                .register(registry);
+    }
 }
@@ -0,0 +1,94 @@
+package com.minseok.batch.configuration;
+
+import com.minseok.batch.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import javax.sql.DataSource;
+
+/**
+ * package      : com.minseok.batch.configuration
+ * class        : DataSourceConfiguration
+ * author       : blenderkims
+ * date         : 2026/10/18
+ * description  : splits the connections over two hikari pools when spring.datasource.replica.url is set.
+ *                spring.datasource(.hikari) configures the primary pool (writers, cleanup, job repository),
+ *                spring.datasource.replica(.hikari) the read only replica pool of the readers and the partitioner.
+ *                without a replica the single auto-configured pool serves everything.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(prefix = "spring.datasource.replica", name = "url")
+public class DataSourceConfiguration {
+
+    /**
+     * Data source properties data source properties.
+     *
+     * @return the data source properties
+     */
+    @Primary
+    @Bean("dataSourceProperties")
+    @ConfigurationProperties("spring.datasource")
+    public DataSourceProperties dataSourceProperties() {
+        return new DataSourceProperties();
+    }
+
+    /**
+     * Primary data source hikari data source.
+     *
+     * @param dataSourceProperties the data source properties (spring.datasource)
+     * @return the hikari data source
+     */
+    @Bean("primaryDataSource")
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(@Qualifier("dataSourceProperties") DataSourceProperties dataSourceProperties) {
+        return dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    /**
+     * Replica data source properties data source properties.
+     *
+     * @return the data source properties
+     */
+    @Bean("replicaDataSourceProperties")
+    @ConfigurationProperties("spring.datasource.replica")
+    public DataSourceProperties replicaDataSourceProperties() {
+        return new DataSourceProperties();
+    }
+
+    /**
+     * Replica data source hikari data source.
+     *
+     * @param replicaDataSourceProperties the replica data source properties
+     * @return the hikari data source
+     */
+    @Bean("replicaDataSource")
+    @ConfigurationProperties("spring.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(@Qualifier("replicaDataSourceProperties") DataSourceProperties replicaDataSourceProperties) {
+        final HikariDataSource dataSource = replicaDataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    /**
+     * Data source data source.
+     *
+     * @param primaryDataSource the primary data source
+     * @param replicaDataSource the replica data source
+     * @return the data source
+     */
+    @Primary
+    @Bean("dataSource")
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource
+            , @Qualifier("replicaDataSource") DataSource replicaDataSource) {
+        log.info("[data source] readers on the replica, writers on the primary");
+        return new ReplicaRoutingDataSource(primaryDataSource, replicaDataSource);
+    }
+}
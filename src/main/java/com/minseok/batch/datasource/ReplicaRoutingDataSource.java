@@ -0,0 +1,99 @@
+package com.minseok.batch.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.function.Supplier;
+
+/**
+ * package      : com.minseok.batch.datasource
+ * class        : ReplicaRoutingDataSource
+ * author       : blenderkims
+ * date         : 2026/10/18
+ * description  : routes the connections of the current thread to the read only replica inside onReplica(..),
+ *                every other connection (writers, tasklets, job repository, schema) is taken from the primary.
+ *                the route is decided when the connection is taken, so a connection already bound to a running
+ *                transaction stays on its data source.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+    /**
+     * The constant PRIMARY.
+     */
+    public static final String PRIMARY = "primary";
+    /**
+     * The constant REPLICA.
+     */
+    public static final String REPLICA = "replica";
+    private static final ThreadLocal<Boolean> REPLICA_ROUTE = ThreadLocal.withInitial(() -> Boolean.FALSE);
+
+    /**
+     * Instantiates a new Replica routing data source.
+     *
+     * @param primary the primary
+     * @param replica the replica
+     */
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica) {
+        setTargetDataSources(Map.of(PRIMARY, primary, REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+    }
+
+    /**
+     * Runs the supplier with the connections of the current thread routed to the replica.
+     *
+     * @param <T>      the type parameter
+     * @param supplier the supplier
+     * @return the result of the supplier
+     */
+    public static <T> T onReplica(Supplier<T> supplier) {
+        final boolean previous = isReplicaRoute();
+        REPLICA_ROUTE.set(Boolean.TRUE);
+        try {
+            return supplier.get();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    /**
+     * Calls the callable with the connections of the current thread routed to the replica.
+     *
+     * @param <T>      the type parameter
+     * @param callable the callable
+     * @return the result of the callable
+     * @throws Exception the exception of the callable
+     */
+    public static <T> T callOnReplica(Callable<T> callable) throws Exception {
+        final boolean previous = isReplicaRoute();
+        REPLICA_ROUTE.set(Boolean.TRUE);
+        try {
+            return callable.call();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    /**
+     * Is replica route boolean.
+     *
+     * @return the boolean
+     */
+    public static boolean isReplicaRoute() {
+        return REPLICA_ROUTE.get();
+    }
+
+    private static void restore(boolean previous) {
+        if (previous) {
+            REPLICA_ROUTE.set(Boolean.TRUE);
+        } else {
+            REPLICA_ROUTE.remove();
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return isReplicaRoute() ? REPLICA : PRIMARY;
+    }
+}
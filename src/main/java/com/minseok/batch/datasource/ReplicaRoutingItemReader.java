@@ -0,0 +1,55 @@
+package com.minseok.batch.datasource;
+
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamException;
+import org.springframework.batch.item.ItemStreamReader;
+import org.springframework.util.Assert;
+
+/**
+ * package      : com.minseok.batch.datasource
+ * class        : ReplicaRoutingItemReader
+ * author       : blenderkims
+ * date         : 2026/10/18
+ * description  : opens, reads and closes the delegate with the connections routed to the replica.
+ *                the reader has to take connections of its own (entity manager, stateless session),
+ *                a read joining the chunk transaction connection stays on the primary.
+ */
+public class ReplicaRoutingItemReader<T> implements ItemStreamReader<T> {
+    private final ItemStreamReader<T> delegate;
+
+    /**
+     * Instantiates a new Replica routing item reader.
+     *
+     * @param delegate the delegate
+     */
+    public ReplicaRoutingItemReader(ItemStreamReader<T> delegate) {
+        Assert.notNull(delegate, "A delegate is required");
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void open(ExecutionContext executionContext) throws ItemStreamException {
+        ReplicaRoutingDataSource.onReplica(() -> {
+            delegate.open(executionContext);
+            return null;
+        });
+    }
+
+    @Override
+    public T read() throws Exception {
+        return ReplicaRoutingDataSource.callOnReplica(delegate::read);
+    }
+
+    @Override
+    public void update(ExecutionContext executionContext) throws ItemStreamException {
+        delegate.update(executionContext);
+    }
+
+    @Override
+    public void close() throws ItemStreamException {
+        ReplicaRoutingDataSource.onReplica(() -> {
+            delegate.close();
+            return null;
+        });
+    }
+}
@@ -20,7 +20,7 @@ import java.time.LocalDateTime;
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @ToString
 @Entity
-@Table(name = "tb_user")
+@Table(name = "tb_user", indexes = @Index(name = "idx_user_modified_at", columnList = "modifiedAt, id"))
 @EntityListeners(AuditingEntityListener.class)
 public class User {
     @Id
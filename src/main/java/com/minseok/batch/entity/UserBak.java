@@ -2,18 +2,27 @@ package com.minseok.batch.entity;
 
 import lombok.*;
 
+import org.springframework.util.DigestUtils;
+
 import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.Id;
+import javax.persistence.PrePersist;
+import javax.persistence.PreUpdate;
 import javax.persistence.Table;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
 
 /**
  * package      : com.minseok.batch.entity
  * class        : UserBak
  * author       : blenderkims
  * date         : 2023/04/12
- * description  :
+ * description  : the digest is the md5 of the content, the same as DIGEST_SQL computes over a tb_user row.
+ *                it is computed on first use (the digest filter, the jdbc writers, before persist), so the exports
+ *                that never write it do not pay for it. the timestamps take part as datetime(6) text on both sides,
+ *                DIGEST_SQL casts the columns, so the digests match whatever the precision of the columns is.
  */
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
@@ -21,6 +30,20 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "tb_user_bak")
 public class UserBak {
+    // \N built without a backslash in the literal, h2 has no backslash escapes and reads '\\N' as two backslashes
+    private static final String NULL_SQL = "concat(char(92), 'N')";
+    /**
+     * The constant CONTENT_SQL. (the content of a tb_user / tb_user_bak row aliased as t, as the text the digest is taken of)
+     */
+    public static final String CONTENT_SQL = "concat_ws('|', t.id, t.email, ifnull(t.password, " + NULL_SQL + ")"
+            + ", ifnull(t.name, " + NULL_SQL + "), ifnull(t.nickname, " + NULL_SQL + "), ifnull(t.mobile, " + NULL_SQL + ")"
+            + ", ifnull(cast(t.created_at as datetime(6)), " + NULL_SQL + "), ifnull(cast(t.modified_at as datetime(6)), " + NULL_SQL + "))";
+    /**
+     * The constant DIGEST_SQL. (md5 of the content of a tb_user / tb_user_bak row aliased as t)
+     */
+    public static final String DIGEST_SQL = "md5(" + CONTENT_SQL + ")";
+    private static final DateTimeFormatter DATE_TIME_FORMAT = DateTimeFormatter.ofPattern("uuuu-MM-dd HH:mm:ss.SSSSSS");
+    private static final String NULL = "\\N";
     @Id
     @Column(unique = true, nullable = false, length = 32)
     private String id;
@@ -32,6 +55,9 @@ public class UserBak {
     private String mobile;
     private LocalDateTime createdAt;
     private LocalDateTime modifiedAt;
+    @Getter(AccessLevel.NONE)
+    @Column(length = 32)
+    private String digest;
 
     /**
      * Instantiates a new User bak.
@@ -75,4 +101,36 @@ public class UserBak {
                 .modifiedAt(user.getModifiedAt())
                 .build();
     }
+
+    /**
+     * Gets digest.
+     *
+     * @return the digest
+     */
+    public String getDigest() {
+        if (digest == null) {
+            digest = digest();
+        }
+        return digest;
+    }
+
+    @PrePersist
+    @PreUpdate
+    private void prePersist() {
+        getDigest();
+    }
+
+    private String digest() {
+        final String content = String.join("|", id, email, text(password), text(name), text(nickname), text(mobile)
+                , dateTime(createdAt), dateTime(modifiedAt));
+        return DigestUtils.md5DigestAsHex(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String text(String value) {
+        return value == null ? NULL : value;
+    }
+
+    private static String dateTime(LocalDateTime value) {
+        return value == null ? NULL : DATE_TIME_FORMAT.format(value);
+    }
 }
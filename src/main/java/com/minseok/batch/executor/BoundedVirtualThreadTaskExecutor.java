@@ -0,0 +1,154 @@
+package com.minseok.batch.executor;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.util.Assert;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * package      : com.minseok.batch.executor
+ * class        : BoundedVirtualThreadTaskExecutor
+ * author       : blenderkims
+ * date         : 2026/10/18
+ * description  : runs every task on its own virtual thread. a task parks on a semaphore before it runs,
+ *                so at most maxConcurrency tasks (the connection budget) touch the database at once
+ *                while the waiting ones cost no platform thread. the caller never blocks on submit.
+ */
+@Slf4j
+public class BoundedVirtualThreadTaskExecutor implements AsyncTaskExecutor, DisposableBean {
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 60;
+    private final ExecutorService executorService;
+    private final Semaphore permits;
+    private final int maxConcurrency;
+    private TaskDecorator taskDecorator;
+
+    /**
+     * Instantiates a new Bounded virtual thread task executor.
+     *
+     * @param threadNamePrefix the thread name prefix
+     * @param maxConcurrency   the max concurrently running tasks
+     */
+    public BoundedVirtualThreadTaskExecutor(String threadNamePrefix, int maxConcurrency) {
+        Assert.isTrue(maxConcurrency > 0, "Max concurrency must be greater than zero");
+        this.executorService = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(threadNamePrefix, 0).factory());
+        this.permits = new Semaphore(maxConcurrency, true);
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    /**
+     * Sets task decorator. the decorated task runs once it holds a permit.
+     *
+     * @param taskDecorator the task decorator
+     */
+    public void setTaskDecorator(TaskDecorator taskDecorator) {
+        this.taskDecorator = taskDecorator;
+    }
+
+    /**
+     * Gets max concurrency.
+     *
+     * @return the max concurrency
+     */
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        try {
+            executorService.execute(bounded(task));
+        } catch (RejectedExecutionException e) {
+            throw new TaskRejectedException("Executor [" + executorService + "] did not accept task: " + task, e);
+        }
+    }
+
+    @Override
+    @Deprecated
+    public void execute(Runnable task, long startTimeout) {
+        execute(task);
+    }
+
+    @Override
+    public Future<?> submit(Runnable task) {
+        final FutureTask<Object> future = new FutureTask<>(task, null);
+        execute(future);
+        return future;
+    }
+
+    @Override
+    public <T> Future<T> submit(Callable<T> task) {
+        // through execute(..), so the callable gets the permit and the task decorator as well
+        final FutureTask<T> future = new FutureTask<>(task);
+        execute(future);
+        return future;
+    }
+
+    /**
+     * Gets active count. tasks holding a permit.
+     *
+     * @return the active count
+     */
+    public int getActiveCount() {
+        return maxConcurrency - permits.availablePermits();
+    }
+
+    /**
+     * Gets queue length. submitted tasks parked on the semaphore.
+     *
+     * @return the queue length
+     */
+    public int getQueueLength() {
+        return permits.getQueueLength();
+    }
+
+    /**
+     * Shutdown. running tasks are completed, new tasks are rejected.
+     */
+    public void shutdown() {
+        executorService.shutdown();
+        try {
+            if (!executorService.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                log.warn("[virtual executor] tasks still running after {} seconds", SHUTDOWN_TIMEOUT_SECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        shutdown();
+    }
+
+    private Runnable bounded(Runnable task) {
+        final Runnable decorated = taskDecorator == null ? task : taskDecorator.decorate(task);
+        return () -> {
+            try {
+                permits.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                if (task instanceof Future) {
+                    // do not leave the submitter waiting on a task that never runs
+                    ((Future<?>) task).cancel(false);
+                }
+                return;
+            }
+            try {
+                decorated.run();
+            } finally {
+                permits.release();
+            }
+        };
+    }
+}
@@ -0,0 +1,61 @@
+package com.minseok.batch.executor;
+
+import lombok.Getter;
+import org.springframework.util.Assert;
+
+/**
+ * package      : com.minseok.batch.executor
+ * class        : ConnectionBudget
+ * author       : blenderkims
+ * date         : 2026/10/18
+ * description  : how many workers (partitions, consumers, chunk threads) run at once without waiting on the
+ *                connection pools. the reserved primary connections are kept for the job repository and the
+ *                manager steps. with a replica the read connections of a worker come from the replica pool.
+ */
+@Getter
+public class ConnectionBudget {
+    private final int maximumPoolSize;
+    private final int replicaMaximumPoolSize;
+    private final int reservedConnections;
+    private final int maxConcurrency;
+
+    /**
+     * Instantiates a new Connection budget.
+     *
+     * @param maximumPoolSize        the maximum pool size of the primary connection pool
+     * @param replicaMaximumPoolSize the maximum pool size of the replica connection pool (0: no replica)
+     * @param reservedConnections    the primary connections kept out of the budget
+     * @param maxConcurrency         the upper bound regardless of the pools
+     */
+    public ConnectionBudget(int maximumPoolSize, int replicaMaximumPoolSize, int reservedConnections, int maxConcurrency) {
+        Assert.isTrue(maximumPoolSize > 0, "Maximum pool size must be greater than zero");
+        Assert.isTrue(replicaMaximumPoolSize >= 0, "Replica maximum pool size must not be negative");
+        Assert.isTrue(reservedConnections >= 0, "Reserved connections must not be negative");
+        Assert.isTrue(maxConcurrency > 0, "Max concurrency must be greater than zero");
+        this.maximumPoolSize = maximumPoolSize;
+        this.replicaMaximumPoolSize = replicaMaximumPoolSize;
+        this.reservedConnections = reservedConnections;
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    /**
+     * Concurrency int.
+     *
+     * @param writeConnections the primary connections one worker holds at once (chunk transaction, own transactions)
+     * @param readConnections  the reader connections one worker holds at once
+     * @return the concurrency (at least 1)
+     */
+    public int concurrency(int writeConnections, int readConnections) {
+        final int primaryBudget = Math.max(1, maximumPoolSize - reservedConnections);
+        int concurrency;
+        if (replicaMaximumPoolSize > 0) {
+            concurrency = primaryBudget / Math.max(1, writeConnections);
+            if (readConnections > 0) {
+                concurrency = Math.min(concurrency, replicaMaximumPoolSize / readConnections);
+            }
+        } else {
+            concurrency = primaryBudget / Math.max(1, writeConnections + readConnections);
+        }
+        return Math.max(1, Math.min(concurrency, maxConcurrency));
+    }
+}
@@ -0,0 +1,79 @@
+package com.minseok.batch.executor;
+
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.util.Assert;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+
+/**
+ * package      : com.minseok.batch.executor
+ * class        : ThrottledTaskExecutor
+ * author       : blenderkims
+ * date         : 2026/10/18
+ * description  : hands at most limit tasks at once to the delegate, the others wait in submit order and are
+ *                handed over when a running one finishes. the caller never blocks. for the workers of one
+ *                job that hold more connections than the shared executor is sized for.
+ */
+public class ThrottledTaskExecutor implements TaskExecutor {
+    private final TaskExecutor delegate;
+    private final int limit;
+    private final Queue<Runnable> pending = new ArrayDeque<>();
+    private int running;
+
+    /**
+     * Instantiates a new Throttled task executor.
+     *
+     * @param delegate the delegate
+     * @param limit    the max tasks running at once
+     */
+    public ThrottledTaskExecutor(TaskExecutor delegate, int limit) {
+        Assert.notNull(delegate, "A delegate is required");
+        Assert.isTrue(limit > 0, "Limit must be greater than zero");
+        this.delegate = delegate;
+        this.limit = limit;
+    }
+
+    @Override
+    public synchronized void execute(Runnable task) {
+        if (running >= limit) {
+            pending.add(task);
+            return;
+        }
+        running++;
+        try {
+            delegate.execute(throttled(task));
+        } catch (RuntimeException e) {
+            running--;
+            throw e;
+        }
+    }
+
+    private Runnable throttled(Runnable task) {
+        return () -> {
+            try {
+                task.run();
+            } finally {
+                next();
+            }
+        };
+    }
+
+    private void next() {
+        final Runnable task;
+        synchronized (this) {
+            task = pending.poll();
+            if (task == null) {
+                running--;
+                return;
+            }
+        }
+        try {
+            delegate.execute(throttled(task));
+        } catch (TaskRejectedException e) {
+            // the delegate is shutting down, the finishing worker keeps its slot and runs the task itself
+            throttled(task).run();
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.minseok.batch.executor;
+
+import io.micrometer.core.instrument.Timer;
+import org.springframework.core.task.TaskDecorator;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * package      : com.minseok.batch.executor
+ * class        : WaitTimeTaskDecorator
+ * author       : blenderkims
+ * date         : 2026/10/18
+ * description  : records the time a task waits between submit and start, i.e. how long a partition
+ *                queued for a free slot of the connection budget.
+ */
+public class WaitTimeTaskDecorator implements TaskDecorator {
+    private final Timer waitTimer;
+
+    /**
+     * Instantiates a new Wait time task decorator.
+     *
+     * @param waitTimer the wait timer
+     */
+    public WaitTimeTaskDecorator(Timer waitTimer) {
+        this.waitTimer = waitTimer;
+    }
+
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        final long submitted = System.nanoTime();
+        return () -> {
+            waitTimer.record(System.nanoTime() - submitted, TimeUnit.NANOSECONDS);
+            runnable.run();
+        };
+    }
+}
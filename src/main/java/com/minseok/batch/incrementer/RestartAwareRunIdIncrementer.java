@@ -0,0 +1,115 @@
+package com.minseok.batch.incrementer;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobInstance;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.JobParametersIncrementer;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.explore.JobExplorer;
+import org.springframework.batch.core.launch.support.RunIdIncrementer;
+import org.springframework.util.Assert;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * package      : com.minseok.batch.incrementer
+ * class        : RestartAwareRunIdIncrementer
+ * author       : blenderkims
+ * date         : 2026/10/18
+ * description  : run id incrementer that does not start a new job instance while the last one failed or stopped.
+ *                its parameters are returned unchanged, so the launcher restarts that instance from the
+ *                checkpoints of its incomplete steps instead of running the whole job again.
+ *                an instance that keeps failing is restarted on every launch and blocks the new runs. to give it up,
+ *                abandon its last execution, then the next launch starts a new instance:
+ *                update batch_job_execution set status = 'ABANDONED', exit_code = 'ABANDONED' where job_execution_id = ?
+ *                (or JobOperator.abandon(executionId)).
+ *                a last execution left STARTED/STARTING by a killed jvm (no update for stale after) or UNKNOWN can not
+ *                be restarted as is. it is reported with the statement that makes it restartable and a new instance
+ *                is started meanwhile:
+ *                update batch_job_execution set status = 'FAILED', exit_code = 'FAILED', end_time = now() where job_execution_id = ?
+ *                update batch_step_execution set status = 'FAILED', exit_code = 'FAILED', end_time = now()
+ *                where job_execution_id = ? and status in ('STARTED', 'STARTING', 'UNKNOWN')
+ */
+@Slf4j
+public class RestartAwareRunIdIncrementer implements JobParametersIncrementer {
+    /**
+     * The constant DEFAULT_STALE_AFTER. (no update of a running execution for this long: its jvm is gone)
+     */
+    public static final Duration DEFAULT_STALE_AFTER = Duration.ofHours(1);
+    private final RunIdIncrementer delegate = new RunIdIncrementer();
+    private final JobExplorer jobExplorer;
+    private final String jobName;
+    private final Duration staleAfter;
+
+    /**
+     * Instantiates a new Restart aware run id incrementer.
+     *
+     * @param jobExplorer the job explorer
+     * @param jobName     the job name
+     */
+    public RestartAwareRunIdIncrementer(JobExplorer jobExplorer, String jobName) {
+        this(jobExplorer, jobName, DEFAULT_STALE_AFTER);
+    }
+
+    /**
+     * Instantiates a new Restart aware run id incrementer.
+     *
+     * @param jobExplorer the job explorer
+     * @param jobName     the job name
+     * @param staleAfter  the time without update after which a running execution is taken for a killed one
+     */
+    public RestartAwareRunIdIncrementer(JobExplorer jobExplorer, String jobName, Duration staleAfter) {
+        Assert.notNull(jobExplorer, "A job explorer is required");
+        Assert.hasText(jobName, "A job name is required");
+        Assert.isTrue(staleAfter != null && !staleAfter.isNegative(), "Stale after must not be negative");
+        this.jobExplorer = jobExplorer;
+        this.jobName = jobName;
+        this.staleAfter = staleAfter;
+    }
+
+    @Override
+    public JobParameters getNext(JobParameters parameters) {
+        final JobInstance lastInstance = jobExplorer.getLastJobInstance(jobName);
+        final JobExecution lastExecution = lastInstance == null ? null : jobExplorer.getLastJobExecution(lastInstance);
+        if (lastExecution == null) {
+            return delegate.getNext(parameters);
+        }
+        final BatchStatus status = lastExecution.getStatus();
+        if (status == BatchStatus.FAILED || status == BatchStatus.STOPPED) {
+            log.info("[incrementer] restart {} instance {} ({})", jobName, lastInstance.getInstanceId(), status);
+            return lastExecution.getJobParameters();
+        }
+        if (status == BatchStatus.UNKNOWN || (status.isRunning() && isStale(lastExecution))) {
+            log.warn("[incrementer] {} instance {} execution {} is {} since {} and can not be restarted, a new instance is started."
+                            + " to restart it instead, mark it failed and launch again: update batch_job_execution set status = 'FAILED'"
+                            + ", exit_code = 'FAILED', end_time = now() where job_execution_id = {}; update batch_step_execution"
+                            + " set status = 'FAILED', exit_code = 'FAILED', end_time = now() where job_execution_id = {}"
+                            + " and status in ('STARTED', 'STARTING', 'UNKNOWN');"
+                    , jobName, lastInstance.getInstanceId(), lastExecution.getId(), status, lastUpdated(lastExecution)
+                    , lastExecution.getId(), lastExecution.getId());
+        }
+        return delegate.getNext(parameters);
+    }
+
+    private boolean isStale(JobExecution jobExecution) {
+        final Date lastUpdated = lastUpdated(jobExecution);
+        return lastUpdated == null || lastUpdated.toInstant().plus(staleAfter).isBefore(Instant.now());
+    }
+
+    /**
+     * the last update of the execution, its step executions are updated on every commit.
+     */
+    private static Date lastUpdated(JobExecution jobExecution) {
+        return Stream.concat(Stream.of(jobExecution.getLastUpdated(), jobExecution.getStartTime(), jobExecution.getCreateTime())
+                        , jobExecution.getStepExecutions().stream().map(StepExecution::getLastUpdated))
+                .filter(Objects::nonNull)
+                .max(Date::compareTo)
+                .orElse(null);
+    }
+}
@@ -1,12 +1,39 @@
 package com.minseok.batch.job;
 
+import com.minseok.batch.datasource.ReplicaRoutingItemReader;
+import com.minseok.batch.entity.User;
+import com.minseok.batch.incrementer.RestartAwareRunIdIncrementer;
+import com.minseok.batch.listener.BatchMetricsListener;
+import com.minseok.batch.policy.AdaptiveCompletionPolicy;
+import com.minseok.batch.reader.KeysetPagingItemReader;
+import com.minseok.batch.reader.KeysetPagingItemReaderBuilder;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.springframework.batch.core.ChunkListener;
+import org.springframework.batch.core.ItemProcessListener;
+import org.springframework.batch.core.ItemReadListener;
+import org.springframework.batch.core.ItemWriteListener;
 import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobParametersIncrementer;
 import org.springframework.batch.core.Step;
+import org.springframework.batch.core.StepExecutionListener;
 import org.springframework.batch.core.configuration.annotation.JobBuilderFactory;
 import org.springframework.batch.core.configuration.annotation.StepBuilderFactory;
+import org.springframework.batch.core.explore.JobExplorer;
+import org.springframework.batch.core.step.builder.FaultTolerantStepBuilder;
+import org.springframework.batch.core.step.builder.SimpleStepBuilder;
+import org.springframework.batch.item.ItemStreamReader;
+import org.springframework.batch.item.database.builder.HibernateCursorItemReaderBuilder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.retry.RetryListener;
+import org.springframework.retry.backoff.ExponentialRandomBackOffPolicy;
 
 import javax.persistence.EntityManagerFactory;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.IntSupplier;
 
 /**
  * package      : com.minseok.batch.service
@@ -17,6 +44,14 @@ import javax.persistence.EntityManagerFactory;
  */
 @RequiredArgsConstructor
 public abstract class AbstractBatch {
+    /**
+     * The constant READ_MODE_STATELESS.
+     */
+    protected static final String READ_MODE_STATELESS = "STATELESS";
+    private static final long BACK_OFF_INITIAL_MILLIS = 50;
+    private static final double BACK_OFF_MULTIPLIER = 2;
+    private static final long BACK_OFF_MAX_MILLIS = 2000;
+
     /**
      * The Job builder factory.
      */
@@ -32,6 +67,48 @@ public abstract class AbstractBatch {
      */
     protected final EntityManagerFactory entityManagerFactory;
 
+    /**
+     * The Fetch size of the stateless session cursor.
+     */
+    @Value("${spring.batch.read.fetch-size:1000}")
+    protected int fetchSize;
+
+    /**
+     * The Min chunk size of the adaptive completion policy.
+     */
+    @Value("${spring.batch.chunk.min-size:100}")
+    protected int minChunkSize;
+
+    /**
+     * The Max chunk size of the adaptive completion policy.
+     */
+    @Value("${spring.batch.chunk.max-size:5000}")
+    protected int maxChunkSize;
+
+    /**
+     * The Target chunk latency millis of the adaptive completion policy.
+     */
+    @Value("${spring.batch.chunk.target-millis:1000}")
+    protected long targetChunkMillis;
+
+    /**
+     * The time without update after which a running execution of the last instance is taken for a killed one.
+     */
+    @Value("${spring.batch.restart.stale-after:1h}")
+    protected Duration restartStaleAfter;
+
+    /**
+     * The Batch metrics listener, registered on the jobs and (with metrics(...)) the chunk steps.
+     */
+    @Autowired
+    protected BatchMetricsListener batchMetricsListener;
+
+    /**
+     * The Batch job explorer.
+     */
+    @Autowired
+    protected JobExplorer batchJobExplorer;
+
     /**
      * Job name string.
      *
@@ -52,4 +129,142 @@ public abstract class AbstractBatch {
      * @return the step
      */
     public abstract Step startStep();
+
+    /**
+     * Incrementer job parameters incrementer.
+     * a new run id per launch, unless the last instance of the job failed or stopped: that one is restarted.
+     * a stale running or unknown last execution is reported with the statements that make it restartable.
+     *
+     * @return the job parameters incrementer
+     */
+    protected JobParametersIncrementer incrementer() {
+        return new RestartAwareRunIdIncrementer(batchJobExplorer, jobName(), restartStaleAfter);
+    }
+
+    /**
+     * Adaptive completion policy adaptive completion policy.
+     * the chunk size starts at the initial chunk size and is tuned within the configured bounds.
+     *
+     * @param initialChunkSize the initial chunk size
+     * @return the adaptive completion policy
+     */
+    protected AdaptiveCompletionPolicy adaptiveCompletionPolicy(int initialChunkSize) {
+        return new AdaptiveCompletionPolicy(initialChunkSize, minChunkSize, maxChunkSize, targetChunkMillis);
+    }
+
+    /**
+     * Back off policy exponential random back off policy.
+     * jittered, so the partitions that hit the same rows do not retry in lockstep.
+     *
+     * @return the exponential random back off policy
+     */
+    protected ExponentialRandomBackOffPolicy backOffPolicy() {
+        final ExponentialRandomBackOffPolicy backOffPolicy = new ExponentialRandomBackOffPolicy();
+        backOffPolicy.setInitialInterval(BACK_OFF_INITIAL_MILLIS);
+        backOffPolicy.setMultiplier(BACK_OFF_MULTIPLIER);
+        backOffPolicy.setMaxInterval(BACK_OFF_MAX_MILLIS);
+        return backOffPolicy;
+    }
+
+    /**
+     * Metrics simple step builder.
+     * registers the batch metrics listener as step, chunk, item read/process/write (and retry) listener.
+     *
+     * @param <I>     the input type
+     * @param <O>     the output type
+     * @param <B>     the step builder type
+     * @param builder the step builder
+     * @return the step builder
+     */
+    protected <I, O, B extends SimpleStepBuilder<I, O>> B metrics(B builder) {
+        builder.listener((StepExecutionListener) batchMetricsListener);
+        builder.listener((ChunkListener) batchMetricsListener);
+        builder.listener((ItemReadListener<Object>) batchMetricsListener);
+        builder.listener((ItemProcessListener<Object, Object>) batchMetricsListener);
+        builder.listener((ItemWriteListener<Object>) batchMetricsListener);
+        if (builder instanceof FaultTolerantStepBuilder) {
+            ((FaultTolerantStepBuilder<I, O>) builder).listener((RetryListener) batchMetricsListener);
+        }
+        return builder;
+    }
+
+    /**
+     * Replica reader item stream reader.
+     * the delegate takes its connections from the read replica (when spring.datasource.replica is configured).
+     *
+     * @param <T>      the type parameter
+     * @param delegate the delegate
+     * @return the item stream reader
+     */
+    protected <T> ItemStreamReader<T> replicaReader(ItemStreamReader<T> delegate) {
+        return new ReplicaRoutingItemReader<>(delegate);
+    }
+
+    /**
+     * User item reader item stream reader.
+     * readMode=stateless streams detached users through a hibernate stateless session cursor,
+     * otherwise users are read with keyset pagination. both are ordered by id and bounded by the optional id range
+     * and read from the replica.
+     *
+     * @param name      the name
+     * @param readMode  the read mode
+     * @param pageSize  the page size (evaluated per page)
+     * @param saveState the save state
+     * @param startId   the start id (inclusive, nullable)
+     * @param endId     the end id (nullable)
+     * @param isLast    the is last (end id inclusive)
+     * @return the item stream reader
+     */
+    protected ItemStreamReader<User> userItemReader(String name, String readMode, IntSupplier pageSize, boolean saveState
+            , String startId, String endId, Boolean isLast) {
+        if (READ_MODE_STATELESS.equalsIgnoreCase(readMode)) {
+            final StringBuilder query = new StringBuilder("from User u where 1 = 1");
+            final Map<String, Object> parameterValues = new HashMap<>();
+            if (startId != null) {
+                query.append(" and u.id >= :startId");
+                parameterValues.put("startId", startId);
+            }
+            if (endId != null) {
+                query.append(Boolean.TRUE.equals(isLast) ? " and u.id <= :endId" : " and u.id < :endId");
+                parameterValues.put("endId", endId);
+            }
+            query.append(" order by u.id asc");
+            return replicaReader(new HibernateCursorItemReaderBuilder<User>()
+                    .name(name)
+                    .saveState(saveState)
+                    .sessionFactory(entityManagerFactory.unwrap(SessionFactory.class))
+                    .useStatelessSession(true)
+                    .fetchSize(fetchSize)
+                    .queryString(query.toString())
+                    .parameterValues(parameterValues)
+                    .build());
+        }
+        return replicaReader(keysetUserItemReader(name, pageSize, saveState, startId, endId, isLast));
+    }
+
+    /**
+     * Keyset user item reader keyset paging item reader.
+     * the reader is not routed to the replica, wrap it with replicaReader(..).
+     *
+     * @param name      the name
+     * @param pageSize  the page size (evaluated per page)
+     * @param saveState the save state
+     * @param startId   the start id (inclusive, nullable)
+     * @param endId     the end id (nullable)
+     * @param isLast    the is last (end id inclusive)
+     * @return the keyset paging item reader
+     */
+    protected KeysetPagingItemReader<User> keysetUserItemReader(String name, IntSupplier pageSize, boolean saveState
+            , String startId, String endId, Boolean isLast) {
+        return new KeysetPagingItemReaderBuilder<User>()
+                .name(name)
+                .saveState(saveState)
+                .entityManagerFactory(entityManagerFactory)
+                .entityClass(User.class)
+                .key("id", User::getId)
+                .startKey(startId)
+                .endKey(endId, Boolean.TRUE.equals(isLast))
+                .pageSize(pageSize)
+                .build();
+    }
 }
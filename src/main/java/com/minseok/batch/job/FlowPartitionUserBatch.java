@@ -3,39 +3,67 @@ package com.minseok.batch.job;
 import com.minseok.batch.configuration.BatchConfiguration;
 import com.minseok.batch.entity.User;
 import com.minseok.batch.entity.UserBak;
+import com.minseok.batch.executor.ConnectionBudget;
+import com.minseok.batch.executor.ThrottledTaskExecutor;
+import com.minseok.batch.listener.StagingTableCreateListener;
+import com.minseok.batch.listener.SyncWatermarkListener;
 import com.minseok.batch.partitioner.UserPartitioner;
+import com.minseok.batch.policy.AdaptiveCompletionPolicy;
+import com.minseok.batch.processor.DigestFilteringItemProcessor;
+import com.minseok.batch.reader.KeysetPagingItemReader;
+import com.minseok.batch.reader.ModifiedUserItemReader;
+import com.minseok.batch.reader.PrefetchItemReader;
 import com.minseok.batch.repository.UserRepository;
+import com.minseok.batch.tasklet.StagingTableSwapTasklet;
+import com.minseok.batch.tasklet.UserBakChecksumTasklet;
+import com.minseok.batch.tasklet.UserBakInsertSelectTasklet;
+import com.minseok.batch.tasklet.UserBakOrphanDeleteTasklet;
+import com.minseok.batch.writer.ConflictIsolatingItemWriter;
+import com.minseok.batch.writer.UserBakJdbcItemWriter;
+import com.minseok.batch.writer.UserBakLoadDataItemWriter;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.batch.core.ExitStatus;
 import org.springframework.batch.core.Job;
 import org.springframework.batch.core.JobExecutionListener;
 import org.springframework.batch.core.Step;
+import org.springframework.batch.core.StepExecutionListener;
 import org.springframework.batch.core.configuration.annotation.JobBuilderFactory;
 import org.springframework.batch.core.configuration.annotation.JobScope;
 import org.springframework.batch.core.configuration.annotation.StepBuilderFactory;
 import org.springframework.batch.core.configuration.annotation.StepScope;
-import org.springframework.batch.core.launch.support.RunIdIncrementer;
+import org.springframework.batch.core.explore.JobExplorer;
+import org.springframework.batch.core.job.flow.FlowExecutionStatus;
+import org.springframework.batch.core.job.flow.JobExecutionDecider;
+import org.springframework.batch.core.listener.ExecutionContextPromotionListener;
+import org.springframework.batch.core.listener.StepExecutionListenerSupport;
 import org.springframework.batch.core.partition.support.Partitioner;
 import org.springframework.batch.core.partition.support.TaskExecutorPartitionHandler;
+import org.springframework.batch.item.ExecutionContext;
 import org.springframework.batch.item.ItemProcessor;
-import org.springframework.batch.item.database.JpaItemWriter;
-import org.springframework.batch.item.database.JpaPagingItemReader;
+import org.springframework.batch.item.ItemStreamReader;
+import org.springframework.batch.item.ItemWriter;
 import org.springframework.batch.item.database.builder.JpaItemWriterBuilder;
-import org.springframework.batch.item.database.builder.JpaPagingItemReaderBuilder;
-import org.springframework.batch.repeat.RepeatStatus;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.task.TaskExecutor;
-import org.springframework.orm.jpa.EntityManagerFactoryUtils;
-import org.springframework.retry.backoff.FixedBackOffPolicy;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.util.Assert;
 
-import javax.persistence.EntityManager;
 import javax.persistence.EntityManagerFactory;
 import javax.persistence.OptimisticLockException;
-import javax.persistence.Query;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Map;
 
+import static com.minseok.batch.reader.ModifiedUserItemReader.WATERMARK_ID;
+import static com.minseok.batch.reader.ModifiedUserItemReader.WATERMARK_MODIFIED_AT;
+
 /**
  * package      : com.minseok.batch.job
  * class        : FlowPartitionUserBatch
@@ -48,11 +76,29 @@ import java.util.Map;
 public class FlowPartitionUserBatch extends AbstractBatch {
     private static final String JOB_NAME = "flowPartitionUserBatchJob";
     private static final int CHUNK_SIZE = 1000;
-    private static final int PAGE_SIZE = 500;
     private static final int RETRY_LIMIT = 3;
+    private static final int WINDOW_SIZE = 10000;
+    private static final int VERIFY_LEAF_SIZE = 1000;
+    private static final int PIPELINE_DEPTH = 2;
+    private static final int OVER_PARTITION_FACTOR = 16;
+    private static final String PARTITION_MODE_STEAL = "STEAL";
+    private static final String SYNC_MODE_SET = "SET";
+    private static final String SYNC_MODE_INCREMENTAL = "INCREMENTAL";
+    private static final String WRITE_MODE_JDBC = "JDBC";
+    private static final String WRITE_MODE_LOAD = "LOAD";
+    private static final String CONFLICT_MODE_ISOLATE = "ISOLATE";
+    private static final String BAK_TABLE = "tb_user_bak";
+    private static final String STAGING_TABLE = "tb_user_bak_staging";
+    private static final String VERIFY = "VERIFY";
     private final TaskExecutor workerTaskExecutor;
+    private final ConnectionBudget connectionBudget;
     private final JobExecutionListener workerTaskExecutorShutdownListener;
     private final UserRepository userRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final JobExplorer jobExplorer;
+    private final PlatformTransactionManager transactionManager;
+    @Value("${spring.batch.write.batch-size:100}")
+    private int writeBatchSize;
 
     /**
      * Instantiates a new Flow partition user batch.
@@ -61,16 +107,24 @@ public class FlowPartitionUserBatch extends AbstractBatch {
      * @param stepBuilderFactory                 the step builder factory
      * @param entityManagerFactory               the entity manager factory
      * @param workerTaskExecutor                 the worker task executor
+     * @param connectionBudget                   the connection budget
      * @param workerTaskExecutorShutdownListener the worker task executor shutdown listener
      * @param userRepository                     the user repository
+     * @param jdbcTemplate                       the jdbc template
+     * @param jobExplorer                        the job explorer
+     * @param transactionManager                 the transaction manager
      */
     public FlowPartitionUserBatch(JobBuilderFactory jobBuilderFactory, StepBuilderFactory stepBuilderFactory, EntityManagerFactory entityManagerFactory
-            , @Qualifier("workerTaskExecutor") TaskExecutor workerTaskExecutor, @Qualifier("workerTaskExecutorShutdownListener") JobExecutionListener workerTaskExecutorShutdownListener
-            , UserRepository userRepository) {
+            , @Qualifier("workerTaskExecutor") TaskExecutor workerTaskExecutor, ConnectionBudget connectionBudget, @Qualifier("workerTaskExecutorShutdownListener") JobExecutionListener workerTaskExecutorShutdownListener
+            , UserRepository userRepository, JdbcTemplate jdbcTemplate, JobExplorer jobExplorer, PlatformTransactionManager transactionManager) {
         super(jobBuilderFactory, stepBuilderFactory, entityManagerFactory);
         this.workerTaskExecutor = workerTaskExecutor;
+        this.connectionBudget = connectionBudget;
         this.workerTaskExecutorShutdownListener = workerTaskExecutorShutdownListener;
         this.userRepository = userRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.jobExplorer = jobExplorer;
+        this.transactionManager = transactionManager;
     }
     public String jobName() {
         return JOB_NAME;
@@ -78,14 +132,32 @@ public class FlowPartitionUserBatch extends AbstractBatch {
 
     /**
      * Partition handler task executor partition handler.
+     * job parameter partitionMode=steal over-partitions the id space into POOL_SIZE * OVER_PARTITION_FACTOR
+     * small ranges. they all wait in the worker executor queue and an idle worker takes the next one,
+     * so a slow range no longer leaves the other workers idle at the tail. every range is its own
+     * partition step execution, so a restart only runs the ranges that did not complete.
+     * job parameter conflictMode=isolate writes in transactions of their own next to the chunk transaction,
+     * so its partitions are throttled to the connection budget of three connections per partition.
      *
+     * @param partitionMode the partition mode
+     * @param conflictMode  the conflict mode
      * @return the task executor partition handler
      */
     @Bean(JOB_NAME + "PartitionHandler")
-    public TaskExecutorPartitionHandler partitionHandler() {
+    @JobScope
+    public TaskExecutorPartitionHandler partitionHandler(@Value("#{jobParameters[partitionMode]}") String partitionMode
+            , @Value("#{jobParameters[conflictMode]}") String conflictMode) {
+        final int gridSize = PARTITION_MODE_STEAL.equalsIgnoreCase(partitionMode)
+                ? BatchConfiguration.POOL_SIZE * OVER_PARTITION_FACTOR
+                : BatchConfiguration.POOL_SIZE;
+        TaskExecutor taskExecutor = workerTaskExecutor;
+        if (CONFLICT_MODE_ISOLATE.equalsIgnoreCase(conflictMode)) {
+            taskExecutor = new ThrottledTaskExecutor(workerTaskExecutor, connectionBudget.concurrency(2, 1));
+        }
+        log.debug("[partition handler] partition mode: {}, grid size: {}, conflict mode: {}", partitionMode, gridSize, conflictMode);
         TaskExecutorPartitionHandler partitionHandler = new TaskExecutorPartitionHandler();
-        partitionHandler.setTaskExecutor(workerTaskExecutor);
-        partitionHandler.setGridSize(BatchConfiguration.POOL_SIZE);
+        partitionHandler.setTaskExecutor(taskExecutor);
+        partitionHandler.setGridSize(gridSize);
         partitionHandler.setStep(partitionStep());
         return partitionHandler;
     }
@@ -104,12 +176,94 @@ public class FlowPartitionUserBatch extends AbstractBatch {
     public Job batchJob() {
         log.info("[start job] tb_user to tb_user_bak synchronization data");
         return jobBuilderFactory.get(JOB_NAME)
-                .start(startStep())
-                .next(cleanupStep())
-                .incrementer(new RunIdIncrementer())
-                .preventRestart()
+                .start(syncModeDecider())
+                .on(SYNC_MODE_SET).to(insertSelectStartStep()).next(cleanupStep())
+                .from(syncModeDecider()).on(SYNC_MODE_INCREMENTAL).to(incrementalStep())
+                .from(syncModeDecider()).on("*").to(startStep()).next(writeModeDecider())
+                .on(WRITE_MODE_LOAD).to(stagingSwapStep()).next(cleanupStep())
+                .from(writeModeDecider()).on("*").to(cleanupStep())
+                .from(cleanupStep()).next(verifyDecider())
+                .on(VERIFY).to(verifyStep())
+                .from(verifyDecider()).on("*").end()
+                .from(verifyStep()).on(UserBakChecksumTasklet.EXIT_CODE_MISMATCH).fail()
+                .from(verifyStep()).on(ExitStatus.COMPLETED.getExitCode()).end()
+                .end()
+                .listener(syncWatermarkListener())
+                .listener(batchMetricsListener)
+                .incrementer(incrementer())
                 .build();
     }
+
+    /**
+     * Sync mode decider job execution decider.
+     * job parameter syncMode=set copies the rows inside the database with insert ... select,
+     * syncMode=incremental upserts only the users modified after the last watermark.
+     *
+     * @return the job execution decider
+     */
+    @Bean(JOB_NAME + "SyncModeDecider")
+    public JobExecutionDecider syncModeDecider() {
+        return (jobExecution, stepExecution) -> {
+            final String syncMode = StringUtils.upperCase(jobExecution.getJobParameters().getString("syncMode"));
+            log.debug("[decider] sync mode: {}", syncMode);
+            if (SYNC_MODE_SET.equals(syncMode) || SYNC_MODE_INCREMENTAL.equals(syncMode)) {
+                return new FlowExecutionStatus(syncMode);
+            }
+            return FlowExecutionStatus.COMPLETED;
+        };
+    }
+
+    /**
+     * Write mode decider job execution decider.
+     * writeMode=load loaded the full rebuild into the staging table, which is swapped in by its own step.
+     *
+     * @return the job execution decider
+     */
+    @Bean(JOB_NAME + "WriteModeDecider")
+    public JobExecutionDecider writeModeDecider() {
+        return (jobExecution, stepExecution) -> {
+            final String writeMode = StringUtils.upperCase(jobExecution.getJobParameters().getString("writeMode"));
+            log.debug("[decider] write mode: {}", writeMode);
+            return WRITE_MODE_LOAD.equals(writeMode) ? new FlowExecutionStatus(WRITE_MODE_LOAD) : FlowExecutionStatus.COMPLETED;
+        };
+    }
+
+    /**
+     * Verify decider job execution decider.
+     * job parameter verify=true compares tb_user_bak with tb_user after the full (or set) synchronization.
+     *
+     * @return the job execution decider
+     */
+    @Bean(JOB_NAME + "VerifyDecider")
+    public JobExecutionDecider verifyDecider() {
+        return (jobExecution, stepExecution) -> {
+            final boolean verify = Boolean.parseBoolean(jobExecution.getJobParameters().getString("verify"));
+            log.debug("[decider] verify: {}", verify);
+            return verify ? new FlowExecutionStatus(VERIFY) : FlowExecutionStatus.COMPLETED;
+        };
+    }
+
+    /**
+     * Sync watermark listener job execution listener.
+     *
+     * @return the job execution listener
+     */
+    @Bean(JOB_NAME + "SyncWatermarkListener")
+    public JobExecutionListener syncWatermarkListener() {
+        return new SyncWatermarkListener(jobExplorer, userRepository, SYNC_MODE_INCREMENTAL);
+    }
+
+    /**
+     * Watermark promotion listener execution context promotion listener.
+     *
+     * @return the execution context promotion listener
+     */
+    @Bean(JOB_NAME + "WatermarkPromotionListener")
+    public ExecutionContextPromotionListener watermarkPromotionListener() {
+        final ExecutionContextPromotionListener listener = new ExecutionContextPromotionListener();
+        listener.setKeys(new String[] {WATERMARK_MODIFIED_AT, WATERMARK_ID});
+        return listener;
+    }
     @Bean(JOB_NAME + "StartStep")
     @JobScope
     public Step startStep() {
@@ -117,7 +271,91 @@ public class FlowPartitionUserBatch extends AbstractBatch {
         return stepBuilderFactory.get(JOB_NAME + "StartStep")
                 .partitioner("partitionStep", partitioner())
                 .step(partitionStep())
-                .partitionHandler(partitionHandler())
+                .partitionHandler(partitionHandler(null, null))
+                .listener(stagingCreateListener(null))
+                .build();
+    }
+
+    /**
+     * Staging create listener step execution listener.
+     * job parameter writeMode=load bulk loads the partitions into a staging table, created before the step.
+     *
+     * @param writeMode the write mode
+     * @return the step execution listener
+     */
+    @Bean(JOB_NAME + "StagingCreateListener")
+    @JobScope
+    public StepExecutionListener stagingCreateListener(@Value("#{jobParameters[writeMode]}") String writeMode) {
+        if (WRITE_MODE_LOAD.equalsIgnoreCase(writeMode)) {
+            return new StagingTableCreateListener(jdbcTemplate, BAK_TABLE, STAGING_TABLE);
+        }
+        return new StepExecutionListenerSupport();
+    }
+
+    /**
+     * Staging swap step step.
+     * replaces tb_user_bak with the staging table after all partitions of the load completed.
+     *
+     * @return the step
+     */
+    @Bean(JOB_NAME + "StagingSwapStep")
+    public Step stagingSwapStep() {
+        log.info("[staging swap step] tb_user_bak staging table swap");
+        return stepBuilderFactory.get(JOB_NAME + "StagingSwapStep")
+                .tasklet(new StagingTableSwapTasklet(jdbcTemplate, BAK_TABLE, STAGING_TABLE))
+                .build();
+    }
+
+    /**
+     * Incremental step step.
+     *
+     * @return the step
+     */
+    @Bean(JOB_NAME + "IncrementalStep")
+    @JobScope
+    public Step incrementalStep() {
+        log.info("[incremental step] modified tb_user to tb_user_bak merge data");
+        return metrics(stepBuilderFactory.get(JOB_NAME + "IncrementalStep")
+                .<User, UserBak>chunk(completionPolicy())
+                .reader(incrementalItemReader(null, null, null))
+                .processor(itemProcessor(null, null, null, null, null))
+                .writer(itemWriter(null, null, null, null, null, null))
+                .listener(watermarkPromotionListener())
+                .faultTolerant()
+                .retry(OptimisticLockException.class)
+                .retryLimit(RETRY_LIMIT)
+                .backOffPolicy(backOffPolicy()))
+                .listener(completionPolicy())
+                .build();
+    }
+
+    /**
+     * Insert select start step step.
+     *
+     * @return the step
+     */
+    @Bean(JOB_NAME + "InsertSelectStartStep")
+    @JobScope
+    public Step insertSelectStartStep() {
+        log.info("[start step] tb_user to tb_user_bak insert select");
+        return stepBuilderFactory.get(JOB_NAME + "InsertSelectStartStep")
+                .partitioner("insertSelectPartitionStep", partitioner())
+                .step(insertSelectPartitionStep())
+                .gridSize(BatchConfiguration.POOL_SIZE)
+                .taskExecutor(workerTaskExecutor)
+                .build();
+    }
+
+    /**
+     * Insert select partition step step.
+     *
+     * @return the step
+     */
+    @Bean(JOB_NAME + "InsertSelectPartitionStep")
+    public Step insertSelectPartitionStep() {
+        log.info("[partition step] tb_user to tb_user_bak insert select");
+        return stepBuilderFactory.get(JOB_NAME + "InsertSelectPartitionStep")
+                .tasklet(insertSelectTasklet(null, null, null))
                 .build();
     }
 
@@ -129,15 +367,16 @@ public class FlowPartitionUserBatch extends AbstractBatch {
     @Bean(JOB_NAME + "PartitionStep")
     public Step partitionStep() {
         log.info("[partition step] tb_user to tb_user_bak merge data");
-        return stepBuilderFactory.get(JOB_NAME + "PartitionStep")
-                .<User, UserBak>chunk(CHUNK_SIZE)
-                .reader(itemReader(null, null, null))
-                .processor(itemProcessor())
-                .writer(itemWriter(null, null, null))
+        return metrics(stepBuilderFactory.get(JOB_NAME + "PartitionStep")
+                .<User, UserBak>chunk(completionPolicy())
+                .reader(itemReader(null, null, null, null, null))
+                .processor(itemProcessor(null, null, null, null, null))
+                .writer(itemWriter(null, null, null, null, null, null))
                 .faultTolerant()
                 .retry(OptimisticLockException.class)
                 .retryLimit(RETRY_LIMIT)
-                .backOffPolicy(new FixedBackOffPolicy())
+                .backOffPolicy(backOffPolicy()))
+                .listener(completionPolicy())
                 .build();
     }
 
@@ -151,74 +390,283 @@ public class FlowPartitionUserBatch extends AbstractBatch {
     public Step cleanupStep() {
         log.debug("[cleanup step] tb_user_bak delete all remain data");
         return stepBuilderFactory.get(JOB_NAME + "CleanupStep")
-                .tasklet((contribution, chunkContext) -> {
-                    EntityManager entityManager = EntityManagerFactoryUtils.getTransactionalEntityManager(entityManagerFactory);
-                    Query query = entityManager.createNativeQuery("delete ub from tb_user_bak ub where not exists(select * from tb_user u where u.id = ub.id)");
-                    query.executeUpdate();
-                    entityManager.flush();
-                    return RepeatStatus.FINISHED;
-                })
+                .partitioner("cleanupPartitionStep", cleanupPartitioner())
+                .step(cleanupPartitionStep())
+                .gridSize(BatchConfiguration.POOL_SIZE)
+                .taskExecutor(workerTaskExecutor)
+                .build();
+    }
+
+    /**
+     * Cleanup partitioner partitioner.
+     * the first partition has no lower bound and the last partition has no upper bound,
+     * so the orphans outside of the tb_user id range are deleted too.
+     *
+     * @return the partitioner
+     */
+    @Bean(JOB_NAME + "CleanupPartitioner")
+    public Partitioner cleanupPartitioner() {
+        return gridSize -> {
+            final Map<String, ExecutionContext> partitions = partitioner().partition(gridSize);
+            if (partitions.isEmpty()) {
+                final ExecutionContext executionContext = new ExecutionContext();
+                executionContext.putInt("partitionNumber", 0);
+                executionContext.put("isLast", Boolean.TRUE);
+                partitions.put("partition0", executionContext);
+            }
+            return partitions;
+        };
+    }
+
+    /**
+     * Cleanup partition step step.
+     *
+     * @return the step
+     */
+    @Bean(JOB_NAME + "CleanupPartitionStep")
+    public Step cleanupPartitionStep() {
+        log.debug("[cleanup partition step] tb_user_bak delete orphan data");
+        return stepBuilderFactory.get(JOB_NAME + "CleanupPartitionStep")
+                .tasklet(orphanDeleteTasklet(null, null, null, null))
                 .build();
     }
 
     /**
-     * Item reader jpa paging item reader.
+     * Verify step step.
+     * same ranges as the cleanup step, so the tb_user_bak ids outside of the tb_user id range are compared too.
+     * the job fails when a range does not match.
+     *
+     * @return the step
+     */
+    @Bean(JOB_NAME + "VerifyStep")
+    @JobScope
+    public Step verifyStep() {
+        log.debug("[verify step] tb_user to tb_user_bak checksum verification");
+        return stepBuilderFactory.get(JOB_NAME + "VerifyStep")
+                .partitioner("verifyPartitionStep", cleanupPartitioner())
+                .step(verifyPartitionStep())
+                .gridSize(BatchConfiguration.POOL_SIZE)
+                .taskExecutor(workerTaskExecutor)
+                .build();
+    }
+
+    /**
+     * Verify partition step step.
+     *
+     * @return the step
+     */
+    @Bean(JOB_NAME + "VerifyPartitionStep")
+    public Step verifyPartitionStep() {
+        log.debug("[verify partition step] tb_user to tb_user_bak range checksum");
+        return stepBuilderFactory.get(JOB_NAME + "VerifyPartitionStep")
+                .tasklet(checksumTasklet(null, null, null, null))
+                .build();
+    }
+
+    /**
+     * Checksum tasklet user bak checksum tasklet.
+     *
+     * @param partitionNumber the partition number
+     * @param startId         the start id
+     * @param endId           the end id
+     * @param isLast          the is last
+     * @return the user bak checksum tasklet
+     */
+    @Bean(JOB_NAME + "ChecksumTasklet")
+    @StepScope
+    public UserBakChecksumTasklet checksumTasklet(
+            @Value("#{stepExecutionContext[partitionNumber]}") Integer partitionNumber
+            , @Value("#{stepExecutionContext[startId]}") String startId
+            , @Value("#{stepExecutionContext[endId]}") String endId
+            , @Value("#{stepExecutionContext[isLast]}") Boolean isLast) {
+        final String lowerId = Integer.valueOf(0).equals(partitionNumber) ? null : startId;
+        final String upperId = Boolean.TRUE.equals(isLast) ? null : endId;
+        log.debug("[checksum] partition: {}, lower id: {}, upper id: {}", partitionNumber, lowerId, upperId);
+        return new UserBakChecksumTasklet(entityManagerFactory, lowerId, upperId, false, VERIFY_LEAF_SIZE);
+    }
+
+    /**
+     * Orphan delete tasklet user bak orphan delete tasklet.
+     *
+     * @param partitionNumber the partition number
+     * @param startId         the start id
+     * @param endId           the end id
+     * @param isLast          the is last
+     * @return the user bak orphan delete tasklet
+     */
+    @Bean(JOB_NAME + "OrphanDeleteTasklet")
+    @StepScope
+    public UserBakOrphanDeleteTasklet orphanDeleteTasklet(
+            @Value("#{stepExecutionContext[partitionNumber]}") Integer partitionNumber
+            , @Value("#{stepExecutionContext[startId]}") String startId
+            , @Value("#{stepExecutionContext[endId]}") String endId
+            , @Value("#{stepExecutionContext[isLast]}") Boolean isLast) {
+        final String lowerId = Integer.valueOf(0).equals(partitionNumber) ? null : startId;
+        final String upperId = Boolean.TRUE.equals(isLast) ? null : endId;
+        log.debug("[orphan delete] partition: {}, lower id: {}, upper id: {}", partitionNumber, lowerId, upperId);
+        return new UserBakOrphanDeleteTasklet(entityManagerFactory, lowerId, upperId, false, WINDOW_SIZE);
+    }
+
+    /**
+     * Insert select tasklet user bak insert select tasklet.
      *
      * @param startId the start id
      * @param endId   the end id
      * @param isLast  the is last
-     * @return the jpa paging item reader
+     * @return the user bak insert select tasklet
      */
-    @Bean(name = JOB_NAME + "ItemReader", destroyMethod = "close")
+    @Bean(JOB_NAME + "InsertSelectTasklet")
     @StepScope
-    public JpaPagingItemReader<User> itemReader(
+    public UserBakInsertSelectTasklet insertSelectTasklet(
             @Value("#{stepExecutionContext[startId]}") String startId
             , @Value("#{stepExecutionContext[endId]}") String endId
             , @Value("#{stepExecutionContext[isLast]}") Boolean isLast) {
-        log.debug("[reader] start id: {}, end id: {}, last: {}", startId, endId, isLast);
-        StringBuilder query = new StringBuilder();
-        query.append("select u from User u where u.id >= :startId and u.id");
-        query.append(isLast ? " <= " : " < ");
-        query.append(":endId order by u.id asc");
-        return new JpaPagingItemReaderBuilder<User>()
-                .name(JOB_NAME + "ItemReader")
-                .entityManagerFactory(entityManagerFactory)
-                .pageSize(PAGE_SIZE)
-                .queryString(query.toString())
-                .parameterValues(Map.of("startId", startId, "endId", endId))
-                .build();
+        log.debug("[insert select] start id: {}, end id: {}, last: {}", startId, endId, isLast);
+        return new UserBakInsertSelectTasklet(entityManagerFactory, startId, endId, Boolean.TRUE.equals(isLast), WINDOW_SIZE);
+    }
+
+    /**
+     * Completion policy adaptive completion policy.
+     * one instance per step execution, also registered as the chunk listener of the step.
+     *
+     * @return the adaptive completion policy
+     */
+    @Bean(JOB_NAME + "CompletionPolicy")
+    @StepScope
+    public AdaptiveCompletionPolicy completionPolicy() {
+        return adaptiveCompletionPolicy(CHUNK_SIZE);
+    }
+
+    /**
+     * Item reader item stream reader.
+     * job parameter pipelined=true reads the keyset pages on a producer thread while the current chunk is written,
+     * the prefetch queue holds PIPELINE_DEPTH chunks of the max adaptive chunk size (spring.batch.chunk.max-size),
+     * up to 10,000 users at the defaults. the restart position is the last item handed to the step.
+     * readMode=stateless has no keyset position to restart from, so it is rejected.
+     *
+     * @param startId   the start id
+     * @param endId     the end id
+     * @param isLast    the is last
+     * @param readMode  the read mode
+     * @param pipelined the pipelined
+     * @return the item stream reader
+     */
+    @Bean(name = JOB_NAME + "ItemReader", destroyMethod = "close")
+    @StepScope
+    public ItemStreamReader<User> itemReader(
+            @Value("#{stepExecutionContext[startId]}") String startId
+            , @Value("#{stepExecutionContext[endId]}") String endId
+            , @Value("#{stepExecutionContext[isLast]}") Boolean isLast
+            , @Value("#{jobParameters[readMode]}") String readMode
+            , @Value("#{jobParameters[pipelined]}") String pipelined) {
+        log.debug("[reader] start id: {}, end id: {}, last: {}, readMode: {}, pipelined: {}", startId, endId, isLast, readMode, pipelined);
+        Assert.isTrue(!Boolean.parseBoolean(pipelined) || !READ_MODE_STATELESS.equalsIgnoreCase(readMode)
+                , "pipelined=true reads with the keyset reader, it can not be combined with readMode=stateless");
+        if (!Boolean.parseBoolean(pipelined)) {
+            return userItemReader(JOB_NAME + "ItemReader", readMode, completionPolicy()::getChunkSize, true, startId, endId, isLast);
+        }
+        // the producer thread has no step scope, so the page size can not follow the adaptive chunk size
+        final KeysetPagingItemReader<User> delegate = keysetUserItemReader(JOB_NAME + "ItemReader", () -> CHUNK_SIZE, true
+                , startId, endId, isLast);
+        final PrefetchItemReader<User> reader = new PrefetchItemReader<>(JOB_NAME + "PipelinedItemReader", replicaReader(delegate)
+                , maxChunkSize * PIPELINE_DEPTH);
+        reader.setCheckpoint(delegate::checkpoint);
+        return reader;
+    }
+
+    /**
+     * Incremental item reader item stream reader.
+     * the modified users are read from the replica, starting the watermark overlap before the watermark.
+     *
+     * @param modifiedAt the watermark modified at
+     * @param id         the watermark id
+     * @param overlap    the watermark overlap (longest transaction plus replica lag)
+     * @return the item stream reader
+     */
+    @Bean(name = JOB_NAME + "IncrementalItemReader", destroyMethod = "close")
+    @StepScope
+    public ItemStreamReader<User> incrementalItemReader(
+            @Value("#{jobExecutionContext['" + WATERMARK_MODIFIED_AT + "']}") String modifiedAt
+            , @Value("#{jobExecutionContext['" + WATERMARK_ID + "']}") String id
+            , @Value("${spring.batch.sync.watermark-overlap:5m}") Duration overlap) {
+        log.debug("[incremental reader] watermark modified at: {}, id: {}, overlap: {}", modifiedAt, id, overlap);
+        final ModifiedUserItemReader reader = new ModifiedUserItemReader(entityManagerFactory, CHUNK_SIZE
+                , modifiedAt == null ? null : LocalDateTime.parse(modifiedAt), id, overlap);
+        reader.setName(JOB_NAME + "IncrementalItemReader");
+        return replicaReader(reader);
     }
 
     /**
      * Item processor item processor.
+     * job parameter skipUnchanged=true filters out the users whose digest matches the stored tb_user_bak row
+     * on full runs. it is rejected with writeMode=load (the staging table has to get every row) and with
+     * syncMode=incremental (the digests are loaded in id windows, the modified users come in modifiedAt order).
+     * the windows are bounded by the end id of the partition.
      *
+     * @param endId         the end id
+     * @param isLast        the is last
+     * @param skipUnchanged the skip unchanged
+     * @param syncMode      the sync mode
+     * @param writeMode     the write mode
      * @return the item processor
      */
     @Bean(JOB_NAME + "ItemProcessor")
     @StepScope
-    public ItemProcessor<User, UserBak> itemProcessor() {
-        return  user -> UserBak.of(user);
+    public ItemProcessor<User, UserBak> itemProcessor(
+            @Value("#{stepExecutionContext[endId]}") String endId
+            , @Value("#{stepExecutionContext[isLast]}") Boolean isLast
+            , @Value("#{jobParameters[skipUnchanged]}") String skipUnchanged
+            , @Value("#{jobParameters[syncMode]}") String syncMode
+            , @Value("#{jobParameters[writeMode]}") String writeMode) {
+        if (Boolean.parseBoolean(skipUnchanged)) {
+            Assert.isTrue(!WRITE_MODE_LOAD.equalsIgnoreCase(writeMode), "skipUnchanged=true can not be combined with writeMode=load, the staging table has to get every row");
+            Assert.isTrue(!SYNC_MODE_INCREMENTAL.equalsIgnoreCase(syncMode), "skipUnchanged=true can not be combined with syncMode=incremental, use it with a full sync");
+            // the digests are read from the primary, the replica may not have the rows written so far
+            return new DigestFilteringItemProcessor(jdbcTemplate, BAK_TABLE, WINDOW_SIZE, endId, Boolean.TRUE.equals(isLast));
+        }
+        return user -> UserBak.of(user);
     }
 
     /**
-     * Item writer jpa item writer.
+     * Item writer item writer.
+     * job parameter writeMode=jdbc upserts with multi-row jdbc batch statements instead of jpa merge,
+     * writeMode=load bulk loads into the staging table of a full rebuild with load data local infile.
+     * job parameter conflictMode=isolate splits a chunk that hits a lock conflict instead of replaying it whole,
+     * it is rejected with writeMode=load (the staging table is loaded by this job alone, there is no conflict to isolate).
      *
-     * @param startId the start id
-     * @param endId   the end id
-     * @param isLast  the is last
-     * @return the jpa item writer
+     * @param startId      the start id
+     * @param endId        the end id
+     * @param isLast       the is last
+     * @param writeMode    the write mode
+     * @param syncMode     the sync mode
+     * @param conflictMode the conflict mode
+     * @return the item writer
      */
     @Bean(JOB_NAME + "ItemWriter")
     @StepScope
-    public JpaItemWriter<UserBak> itemWriter(
+    public ItemWriter<UserBak> itemWriter(
             @Value("#{stepExecutionContext[startId]}") String startId
             , @Value("#{stepExecutionContext[endId]}") String endId
-            , @Value("#{stepExecutionContext[isLast]}") Boolean isLast) {
-        log.debug("[writer] start id: {}, end id: {}, last: {}", startId, endId, isLast);
-        return new JpaItemWriterBuilder<UserBak>()
-                .entityManagerFactory(entityManagerFactory)
-                .build();
+            , @Value("#{stepExecutionContext[isLast]}") Boolean isLast
+            , @Value("#{jobParameters[writeMode]}") String writeMode
+            , @Value("#{jobParameters[syncMode]}") String syncMode
+            , @Value("#{jobParameters[conflictMode]}") String conflictMode) {
+        log.debug("[writer] start id: {}, end id: {}, last: {}, write mode: {}, conflict mode: {}", startId, endId, isLast, writeMode, conflictMode);
+        if (WRITE_MODE_LOAD.equalsIgnoreCase(writeMode)) {
+            Assert.isTrue(!SYNC_MODE_INCREMENTAL.equalsIgnoreCase(syncMode), "writeMode=load rebuilds tb_user_bak, use it with a full sync");
+            Assert.isTrue(!CONFLICT_MODE_ISOLATE.equalsIgnoreCase(conflictMode), "conflictMode=isolate can not be combined with writeMode=load");
+            return new UserBakLoadDataItemWriter(jdbcTemplate, STAGING_TABLE);
+        }
+        final ItemWriter<UserBak> writer = WRITE_MODE_JDBC.equalsIgnoreCase(writeMode)
+                ? new UserBakJdbcItemWriter(jdbcTemplate, writeBatchSize)
+                : new JpaItemWriterBuilder<UserBak>().entityManagerFactory(entityManagerFactory).build();
+        if (!CONFLICT_MODE_ISOLATE.equalsIgnoreCase(conflictMode)) {
+            return writer;
+        }
+        final ConflictIsolatingItemWriter<UserBak> isolatingWriter = new ConflictIsolatingItemWriter<>(writer, transactionManager
+                , UserBak::getId, List.of(OptimisticLockException.class, ConcurrencyFailureException.class), RETRY_LIMIT);
+        isolatingWriter.setBackOffPolicy(backOffPolicy());
+        isolatingWriter.setRetryListeners(batchMetricsListener);
+        return isolatingWriter;
     }
-
-
 }
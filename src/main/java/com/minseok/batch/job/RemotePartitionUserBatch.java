@@ -0,0 +1,291 @@
+package com.minseok.batch.job;
+
+import com.minseok.batch.entity.User;
+import com.minseok.batch.entity.UserBak;
+import com.minseok.batch.executor.ConnectionBudget;
+import com.minseok.batch.partitioner.UserPartitioner;
+import com.minseok.batch.policy.AdaptiveCompletionPolicy;
+import com.minseok.batch.repository.UserRepository;
+import com.minseok.batch.writer.UserBakJdbcItemWriter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.configuration.annotation.JobBuilderFactory;
+import org.springframework.batch.core.configuration.annotation.StepBuilderFactory;
+import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.batch.core.partition.support.Partitioner;
+import org.springframework.batch.integration.config.annotation.EnableBatchIntegration;
+import org.springframework.batch.integration.partition.RemotePartitioningManagerStepBuilderFactory;
+import org.springframework.batch.integration.partition.RemotePartitioningWorkerStepBuilderFactory;
+import org.springframework.batch.item.ItemProcessor;
+import org.springframework.batch.item.ItemStreamReader;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.batch.item.database.builder.JpaItemWriterBuilder;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.integration.channel.DirectChannel;
+import org.springframework.integration.dsl.IntegrationFlow;
+import org.springframework.integration.dsl.IntegrationFlows;
+import org.springframework.integration.jms.dsl.Jms;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.jms.ConnectionFactory;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.OptimisticLockException;
+
+/**
+ * package      : com.minseok.batch.job
+ * class        : RemotePartitionUserBatch
+ * author       : blenderkims
+ * date         : 2026/10/18
+ * description  : tb_user to tb_user_bak sync with remote partitioning. the manager step sends the
+ *                UserPartitioner ranges as step execution requests and polls the shared job repository
+ *                for the worker results. spring.batch.remote.transport=local hands the requests to the
+ *                worker step of the same jvm, jms sends them over a (artemis) queue to every node with
+ *                spring.batch.remote.worker=true.
+ */
+@Slf4j
+@Configuration
+@EnableBatchIntegration
+public class RemotePartitionUserBatch extends AbstractBatch {
+    private static final String JOB_NAME = "remotePartitionUserBatchJob";
+    private static final int CHUNK_SIZE = 1000;
+    private static final int RETRY_LIMIT = 3;
+    private static final long POLL_INTERVAL_MILLIS = 1000;
+    private static final String WRITE_MODE_JDBC = "JDBC";
+    private final RemotePartitioningManagerStepBuilderFactory managerStepBuilderFactory;
+    private final RemotePartitioningWorkerStepBuilderFactory workerStepBuilderFactory;
+    private final TaskExecutor workerTaskExecutor;
+    private final ConnectionBudget connectionBudget;
+    private final UserRepository userRepository;
+    private final JdbcTemplate jdbcTemplate;
+    @Value("${spring.batch.remote.grid-size:16}")
+    private int gridSize;
+    @Value("${spring.batch.remote.queue:remote-partition-requests}")
+    private String queue;
+    @Value("${spring.batch.write.batch-size:100}")
+    private int writeBatchSize;
+
+    /**
+     * Instantiates a new Remote partition user batch.
+     *
+     * @param jobBuilderFactory         the job builder factory
+     * @param stepBuilderFactory        the step builder factory
+     * @param entityManagerFactory      the entity manager factory
+     * @param managerStepBuilderFactory the manager step builder factory
+     * @param workerStepBuilderFactory  the worker step builder factory
+     * @param workerTaskExecutor        the worker task executor
+     * @param connectionBudget          the connection budget
+     * @param userRepository            the user repository
+     * @param jdbcTemplate              the jdbc template
+     */
+    public RemotePartitionUserBatch(JobBuilderFactory jobBuilderFactory, StepBuilderFactory stepBuilderFactory, EntityManagerFactory entityManagerFactory
+            , RemotePartitioningManagerStepBuilderFactory managerStepBuilderFactory, RemotePartitioningWorkerStepBuilderFactory workerStepBuilderFactory
+            , @Qualifier("workerTaskExecutor") TaskExecutor workerTaskExecutor, ConnectionBudget connectionBudget, UserRepository userRepository, JdbcTemplate jdbcTemplate) {
+        super(jobBuilderFactory, stepBuilderFactory, entityManagerFactory);
+        this.managerStepBuilderFactory = managerStepBuilderFactory;
+        this.workerStepBuilderFactory = workerStepBuilderFactory;
+        this.workerTaskExecutor = workerTaskExecutor;
+        this.connectionBudget = connectionBudget;
+        this.userRepository = userRepository;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public String jobName() {
+        return JOB_NAME;
+    }
+
+    @Bean(JOB_NAME)
+    public Job batchJob() {
+        log.info("[start job] tb_user to tb_user_bak remote partition synchronization");
+        return jobBuilderFactory.get(JOB_NAME)
+                .start(startStep())
+                .incrementer(incrementer())
+                .listener(batchMetricsListener)
+                .build();
+    }
+
+    /**
+     * Start step step. (manager)
+     *
+     * @return the step
+     */
+    @Bean(JOB_NAME + "StartStep")
+    public Step startStep() {
+        log.info("[manager step] {} ranges to the workers", gridSize);
+        return managerStepBuilderFactory.get(JOB_NAME + "StartStep")
+                .partitioner(JOB_NAME + "WorkerStep", partitioner())
+                .gridSize(gridSize)
+                .outputChannel(managerRequests())
+                .pollInterval(POLL_INTERVAL_MILLIS)
+                .build();
+    }
+
+    /**
+     * Worker step step.
+     *
+     * @return the step
+     */
+    @Bean(JOB_NAME + "WorkerStep")
+    public Step workerStep() {
+        log.info("[worker step] tb_user range to tb_user_bak merge data");
+        return metrics(workerStepBuilderFactory.get(JOB_NAME + "WorkerStep")
+                .inputChannel(workerRequests())
+                .<User, UserBak>chunk(completionPolicy())
+                .reader(itemReader(null, null, null, null))
+                .processor(itemProcessor())
+                .writer(itemWriter(null))
+                .faultTolerant()
+                .retry(OptimisticLockException.class)
+                .retryLimit(RETRY_LIMIT)
+                .backOffPolicy(backOffPolicy()))
+                .listener(completionPolicy())
+                .build();
+    }
+
+    /**
+     * Partitioner partitioner.
+     *
+     * @return the partitioner
+     */
+    @Bean(JOB_NAME + "Partitioner")
+    public Partitioner partitioner() {
+        return new UserPartitioner(userRepository);
+    }
+
+    /**
+     * Manager requests direct channel.
+     *
+     * @return the direct channel
+     */
+    @Bean(JOB_NAME + "ManagerRequests")
+    public DirectChannel managerRequests() {
+        return new DirectChannel();
+    }
+
+    /**
+     * Worker requests direct channel.
+     *
+     * @return the direct channel
+     */
+    @Bean(JOB_NAME + "WorkerRequests")
+    public DirectChannel workerRequests() {
+        return new DirectChannel();
+    }
+
+    /**
+     * Local requests flow integration flow.
+     * in-jvm stand-in of the broker, every request runs on the worker task executor.
+     *
+     * @return the integration flow
+     */
+    @Bean(JOB_NAME + "LocalRequestsFlow")
+    @ConditionalOnProperty(name = "spring.batch.remote.transport", havingValue = "local", matchIfMissing = true)
+    public IntegrationFlow localRequestsFlow() {
+        return IntegrationFlows.from(managerRequests())
+                .channel(channels -> channels.executor(workerTaskExecutor))
+                .channel(workerRequests())
+                .get();
+    }
+
+    /**
+     * Outbound requests flow integration flow.
+     *
+     * @param connectionFactory the connection factory
+     * @return the integration flow
+     */
+    @Bean(JOB_NAME + "OutboundRequestsFlow")
+    @ConditionalOnProperty(name = "spring.batch.remote.transport", havingValue = "jms")
+    public IntegrationFlow outboundRequestsFlow(ConnectionFactory connectionFactory) {
+        return IntegrationFlows.from(managerRequests())
+                .handle(Jms.outboundAdapter(connectionFactory).destination(queue))
+                .get();
+    }
+
+    /**
+     * Inbound requests flow integration flow.
+     * the request is acknowledged after the worker step ran, in the listener thread.
+     * every consumer runs one partition, so the consumers are sized to the connection budget of the worker executor.
+     *
+     * @param connectionFactory the connection factory
+     * @return the integration flow
+     */
+    @Bean(JOB_NAME + "InboundRequestsFlow")
+    @ConditionalOnExpression("'${spring.batch.remote.transport:local}' == 'jms' and ${spring.batch.remote.worker:true}")
+    public IntegrationFlow inboundRequestsFlow(ConnectionFactory connectionFactory) {
+        return IntegrationFlows.from(Jms.messageDrivenChannelAdapter(connectionFactory)
+                        .destination(queue)
+                        .configureListenerContainer(container -> container
+                                .concurrentConsumers(connectionBudget.concurrency(1, 1))
+                                .sessionTransacted(true)))
+                .channel(workerRequests())
+                .get();
+    }
+
+    /**
+     * Completion policy adaptive completion policy.
+     * one instance per step execution, also registered as the chunk listener of the step.
+     *
+     * @return the adaptive completion policy
+     */
+    @Bean(JOB_NAME + "CompletionPolicy")
+    @StepScope
+    public AdaptiveCompletionPolicy completionPolicy() {
+        return adaptiveCompletionPolicy(CHUNK_SIZE);
+    }
+
+    /**
+     * Item reader item stream reader.
+     *
+     * @param startId  the start id
+     * @param endId    the end id
+     * @param isLast   the is last
+     * @param readMode the read mode
+     * @return the item stream reader
+     */
+    @Bean(name = JOB_NAME + "ItemReader", destroyMethod = "close")
+    @StepScope
+    public ItemStreamReader<User> itemReader(
+            @Value("#{stepExecutionContext[startId]}") String startId
+            , @Value("#{stepExecutionContext[endId]}") String endId
+            , @Value("#{stepExecutionContext[isLast]}") Boolean isLast
+            , @Value("#{jobParameters[readMode]}") String readMode) {
+        log.debug("[reader] start id: {}, end id: {}, last: {}, readMode: {}", startId, endId, isLast, readMode);
+        return userItemReader(JOB_NAME + "ItemReader", readMode, completionPolicy()::getChunkSize, true, startId, endId, isLast);
+    }
+
+    /**
+     * Item processor item processor.
+     *
+     * @return the item processor
+     */
+    @Bean(JOB_NAME + "ItemProcessor")
+    @StepScope
+    public ItemProcessor<User, UserBak> itemProcessor() {
+        return (user) -> UserBak.of(user);
+    }
+
+    /**
+     * Item writer item writer.
+     * job parameter writeMode=jdbc upserts with multi-row jdbc batch statements instead of jpa merge.
+     *
+     * @param writeMode the write mode
+     * @return the item writer
+     */
+    @Bean(JOB_NAME + "ItemWriter")
+    @StepScope
+    public ItemWriter<UserBak> itemWriter(@Value("#{jobParameters[writeMode]}") String writeMode) {
+        if (WRITE_MODE_JDBC.equalsIgnoreCase(writeMode)) {
+            return new UserBakJdbcItemWriter(jdbcTemplate, writeBatchSize);
+        }
+        return new JpaItemWriterBuilder<UserBak>()
+                .entityManagerFactory(entityManagerFactory)
+                .build();
+    }
+}
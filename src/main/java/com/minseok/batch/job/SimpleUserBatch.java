@@ -9,6 +9,7 @@ package com.minseok.batch.job;
  */
 import com.minseok.batch.entity.User;
 import com.minseok.batch.entity.UserBak;
+import com.minseok.batch.policy.AdaptiveCompletionPolicy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.batch.core.Job;
 import org.springframework.batch.core.Step;
@@ -16,11 +17,10 @@ import org.springframework.batch.core.configuration.annotation.JobBuilderFactory
 import org.springframework.batch.core.configuration.annotation.JobScope;
 import org.springframework.batch.core.configuration.annotation.StepBuilderFactory;
 import org.springframework.batch.core.configuration.annotation.StepScope;
-import org.springframework.batch.core.launch.support.RunIdIncrementer;
 import org.springframework.batch.item.ItemProcessor;
+import org.springframework.batch.item.ItemStreamReader;
 import org.springframework.batch.item.ItemWriter;
-import org.springframework.batch.item.database.JpaPagingItemReader;
-import org.springframework.batch.item.database.builder.JpaPagingItemReaderBuilder;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -30,7 +30,6 @@ import javax.persistence.EntityManagerFactory;
 public class SimpleUserBatch extends AbstractBatch {
     private static final String JOB_NAME = "simpleUserBatchJob";
     private static final int CHUNK_SIZE = 1000;
-    private static final int PAGE_SIZE = 500;
 
     /**
      * Instantiates a new Simple user batch.
@@ -53,8 +52,8 @@ public class SimpleUserBatch extends AbstractBatch {
         log.debug("[start job] tb_user to tb_user_bak print");
         return jobBuilderFactory.get(JOB_NAME)
                 .start(startStep())
-                .incrementer(new RunIdIncrementer())
-                .preventRestart()
+                .incrementer(incrementer())
+                .listener(batchMetricsListener)
                 .build();
     }
 
@@ -62,29 +61,38 @@ public class SimpleUserBatch extends AbstractBatch {
     @JobScope
     public Step startStep() {
         log.debug("[start step] tb_user to tb_user_bak print");
-        return stepBuilderFactory.get(JOB_NAME + "StartStep")
-                .<User, UserBak>chunk(CHUNK_SIZE)
-                .reader(itemReader())
+        return metrics(stepBuilderFactory.get(JOB_NAME + "StartStep")
+                .<User, UserBak>chunk(completionPolicy())
+                .reader(itemReader(null))
                 .processor(itemProcessor())
-                .writer(itemWriter())
+                .writer(itemWriter()))
+                .listener(completionPolicy())
                 .build();
     }
 
     /**
-     * Item reader jpa paging item reader.
+     * Completion policy adaptive completion policy.
+     * one instance per step execution, also registered as the chunk listener of the step.
      *
-     * @return the jpa paging item reader
+     * @return the adaptive completion policy
+     */
+    @Bean(JOB_NAME + "CompletionPolicy")
+    @StepScope
+    public AdaptiveCompletionPolicy completionPolicy() {
+        return adaptiveCompletionPolicy(CHUNK_SIZE);
+    }
+
+    /**
+     * Item reader item stream reader.
+     *
+     * @param readMode the read mode
+     * @return the item stream reader
      */
     @Bean(name = JOB_NAME + "ItemReader", destroyMethod = "close")
     @StepScope
-    public JpaPagingItemReader<User> itemReader() {
-        log.debug("[reader] jpa paging read");
-        return new JpaPagingItemReaderBuilder<User>()
-                .name(JOB_NAME + "ItemReader")
-                .entityManagerFactory(entityManagerFactory)
-                .pageSize(PAGE_SIZE)
-                .queryString("select u from User u order by u.id")
-                .build();
+    public ItemStreamReader<User> itemReader(@Value("#{jobParameters[readMode]}") String readMode) {
+        log.debug("[reader] user read (readMode: {})", readMode);
+        return userItemReader(JOB_NAME + "ItemReader", readMode, completionPolicy()::getChunkSize, true, null, null, null);
     }
 
     /**
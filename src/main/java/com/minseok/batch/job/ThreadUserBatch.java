@@ -3,9 +3,18 @@ package com.minseok.batch.job;
 import com.minseok.batch.configuration.BatchConfiguration;
 import com.minseok.batch.entity.User;
 import com.minseok.batch.entity.UserBak;
+import com.minseok.batch.executor.ConnectionBudget;
+import com.minseok.batch.partitioner.UserPartitioner;
+import com.minseok.batch.policy.AdaptiveCompletionPolicy;
+import com.minseok.batch.reader.PrefetchItemReader;
+import com.minseok.batch.repository.UserRepository;
+import com.minseok.batch.tasklet.PartFileMergeTasklet;
+import com.minseok.batch.writer.CompressedLineItemWriter;
+import com.minseok.batch.writer.ExportFormat;
+import com.minseok.batch.writer.FileChannelItemWriter;
+import com.minseok.batch.writer.UserBakArrowItemWriter;
+import com.minseok.batch.writer.UserBakCsvLineAggregator;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.lang3.StringUtils;
-import org.apache.commons.lang3.reflect.FieldUtils;
 import org.springframework.batch.core.Job;
 import org.springframework.batch.core.JobExecutionListener;
 import org.springframework.batch.core.Step;
@@ -13,25 +22,27 @@ import org.springframework.batch.core.configuration.annotation.JobBuilderFactory
 import org.springframework.batch.core.configuration.annotation.JobScope;
 import org.springframework.batch.core.configuration.annotation.StepBuilderFactory;
 import org.springframework.batch.core.configuration.annotation.StepScope;
-import org.springframework.batch.core.launch.support.RunIdIncrementer;
+import org.springframework.batch.core.job.flow.FlowExecutionStatus;
+import org.springframework.batch.core.job.flow.JobExecutionDecider;
+import org.springframework.batch.core.partition.support.Partitioner;
 import org.springframework.batch.item.ItemProcessor;
-import org.springframework.batch.item.database.JpaPagingItemReader;
-import org.springframework.batch.item.database.builder.JpaPagingItemReaderBuilder;
-import org.springframework.batch.item.file.FlatFileItemWriter;
+import org.springframework.batch.item.ItemStreamReader;
+import org.springframework.batch.item.ItemStreamWriter;
 import org.springframework.batch.item.file.builder.FlatFileItemWriterBuilder;
-import org.springframework.batch.item.file.transform.BeanWrapperFieldExtractor;
-import org.springframework.batch.item.file.transform.DelimitedLineAggregator;
+import org.springframework.batch.item.support.SynchronizedItemStreamWriter;
+import org.springframework.batch.item.support.builder.SynchronizedItemStreamWriterBuilder;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.io.FileSystemResource;
 import org.springframework.core.task.TaskExecutor;
+import org.springframework.util.Assert;
 
 import javax.persistence.EntityManagerFactory;
-import java.io.File;
-import java.lang.reflect.Field;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 
 /**
  * package      : com.minseok.batch.job
@@ -45,9 +56,13 @@ import java.nio.charset.StandardCharsets;
 public class ThreadUserBatch extends AbstractBatch {
     private static final String JOB_NAME = "threadUserBatchJob";
     private static final int CHUNK_SIZE = 1000;
-    private static final int PAGE_SIZE = 500;
+    private static final int QUEUE_DEPTH = 2;
+    private static final String EXPORT_FILE_NAME = "thread_user_batch";
+    private static final String EXPORT_MODE_PARTITION = "PARTITION";
     private final TaskExecutor workerTaskExecutor;
+    private final ConnectionBudget connectionBudget;
     private final JobExecutionListener workerTaskExecutorShutdownListener;
+    private final UserRepository userRepository;
     @Value("${spring.batch.write.file-path}")
     private String filePath;
 
@@ -58,13 +73,18 @@ public class ThreadUserBatch extends AbstractBatch {
      * @param stepBuilderFactory                 the step builder factory
      * @param entityManagerFactory               the entity manager factory
      * @param workerTaskExecutor                 the worker task executor
+     * @param connectionBudget                   the connection budget
      * @param workerTaskExecutorShutdownListener the worker task executor shutdown listener
+     * @param userRepository                     the user repository
      */
     public ThreadUserBatch(JobBuilderFactory jobBuilderFactory, StepBuilderFactory stepBuilderFactory, EntityManagerFactory entityManagerFactory
-            , @Qualifier("workerTaskExecutor") TaskExecutor workerTaskExecutor, @Qualifier("workerTaskExecutorShutdownListener") JobExecutionListener workerTaskExecutorShutdownListener) {
+            , @Qualifier("workerTaskExecutor") TaskExecutor workerTaskExecutor, ConnectionBudget connectionBudget, @Qualifier("workerTaskExecutorShutdownListener") JobExecutionListener workerTaskExecutorShutdownListener
+            , UserRepository userRepository) {
         super(jobBuilderFactory, stepBuilderFactory, entityManagerFactory);
         this.workerTaskExecutor = workerTaskExecutor;
+        this.connectionBudget = connectionBudget;
         this.workerTaskExecutorShutdownListener = workerTaskExecutorShutdownListener;
+        this.userRepository = userRepository;
     }
     public String jobName() {
         return JOB_NAME;
@@ -73,41 +93,171 @@ public class ThreadUserBatch extends AbstractBatch {
     public Job batchJob() {
         log.debug("[start job] tb_user to csv export");
         return jobBuilderFactory.get(JOB_NAME)
-                .start(startStep())
-                .incrementer(new RunIdIncrementer())
+                .start(exportModeDecider())
+                .on(EXPORT_MODE_PARTITION).to(partitionExportStep(null)).next(mergeStep(null))
+                .from(exportModeDecider()).on("*").to(startStep())
+                .end()
+                .incrementer(incrementer())
                 .listener(workerTaskExecutorShutdownListener)
-                .preventRestart()
+                .listener(batchMetricsListener)
                 .build();
     }
+
+    /**
+     * Export mode decider job execution decider.
+     * job parameter exportMode=partition exports each partition to its own part file and merges them.
+     *
+     * @return the job execution decider
+     */
+    @Bean(JOB_NAME + "ExportModeDecider")
+    public JobExecutionDecider exportModeDecider() {
+        return (jobExecution, stepExecution) -> {
+            final String exportMode = jobExecution.getJobParameters().getString("exportMode");
+            log.debug("[decider] export mode: {}", exportMode);
+            return EXPORT_MODE_PARTITION.equalsIgnoreCase(exportMode) ? new FlowExecutionStatus(EXPORT_MODE_PARTITION) : FlowExecutionStatus.COMPLETED;
+        };
+    }
+
+    /**
+     * Start step step.
+     * the chunk threads share the one reader connection and each holds its own chunk transaction connection,
+     * so the throttle limit is the connection budget less the reader.
+     *
+     * @return the step
+     */
     @Bean(JOB_NAME + "StartStep")
     @JobScope
     public Step startStep() {
-        log.debug("[start step] tb_user to csv export");
-        return stepBuilderFactory.get(JOB_NAME + "StartStep")
-                .<User, UserBak>chunk(CHUNK_SIZE)
-                .reader(itemReader())
+        final int throttleLimit = Math.max(1, connectionBudget.concurrency(1, 0) - 1);
+        log.debug("[start step] tb_user to csv export (throttle limit: {})", throttleLimit);
+        return metrics(stepBuilderFactory.get(JOB_NAME + "StartStep")
+                .<User, UserBak>chunk(completionPolicy())
+                .reader(itemReader(null))
                 .processor(itemProcessor())
-                .writer(itemWriter())
+                .writer(itemWriter(null)))
+                .listener(completionPolicy())
                 .taskExecutor(workerTaskExecutor)
-                .throttleLimit(BatchConfiguration.POOL_SIZE)
+                .throttleLimit(throttleLimit)
+                .build();
+    }
+
+    /**
+     * Partitioner partitioner.
+     *
+     * @return the partitioner
+     */
+    @Bean(JOB_NAME + "Partitioner")
+    public Partitioner partitioner() {
+        return new UserPartitioner(userRepository);
+    }
+
+    /**
+     * Partition export step step.
+     *
+     * @param exportFormat the export format
+     * @return the step
+     */
+    @Bean(JOB_NAME + "PartitionExportStep")
+    @JobScope
+    public Step partitionExportStep(@Value("#{jobParameters[exportFormat]}") String exportFormat) {
+        final ExportFormat format = ExportFormat.of(exportFormat);
+        Assert.isTrue(format.isConcatenable(), () -> "exportMode=partition does not support exportFormat=" + exportFormat);
+        log.debug("[partition export step] tb_user to {} part files", format.getExtension());
+        return stepBuilderFactory.get(JOB_NAME + "PartitionExportStep")
+                .partitioner(JOB_NAME + "PartitionStep", partitioner())
+                .step(partitionStep())
+                .gridSize(BatchConfiguration.POOL_SIZE)
+                .taskExecutor(workerTaskExecutor)
+                .build();
+    }
+
+    /**
+     * Partition step step.
+     *
+     * @return the step
+     */
+    @Bean(JOB_NAME + "PartitionStep")
+    public Step partitionStep() {
+        log.debug("[partition step] tb_user to csv part file");
+        return metrics(stepBuilderFactory.get(JOB_NAME + "PartitionStep")
+                .<User, UserBak>chunk(completionPolicy())
+                .reader(partitionItemReader(null, null, null, null, null))
+                .processor(itemProcessor())
+                .writer(partitionItemWriter(null, null)))
+                .listener(completionPolicy())
                 .build();
     }
 
     /**
-     * Item reader jpa paging item reader.
+     * Merge step step.
      *
-     * @return the jpa paging item reader
+     * @param exportFormat the export format
+     * @return the step
+     */
+    @Bean(JOB_NAME + "MergeStep")
+    @JobScope
+    public Step mergeStep(@Value("#{jobParameters[exportFormat]}") String exportFormat) {
+        final ExportFormat format = ExportFormat.of(exportFormat);
+        log.debug("[merge step] {} part files to {}", format.getExtension(), format.getExtension());
+        return stepBuilderFactory.get(JOB_NAME + "MergeStep")
+                .tasklet(new PartFileMergeTasklet(exportFile(format), format.header(UserBakCsvLineAggregator.HEADER)
+                        , batchJobExplorer, JOB_NAME + "PartitionStep", partitionNumber -> partFile(partitionNumber, format)))
+                .build();
+    }
+
+    /**
+     * Completion policy adaptive completion policy.
+     * one instance per step execution, also registered as the chunk listener of the step.
+     *
+     * @return the adaptive completion policy
+     */
+    @Bean(JOB_NAME + "CompletionPolicy")
+    @StepScope
+    public AdaptiveCompletionPolicy completionPolicy() {
+        return adaptiveCompletionPolicy(CHUNK_SIZE);
+    }
+
+    /**
+     * Item reader prefetch item reader.
+     * a single producer reads the users in order and the worker threads consume the queue,
+     * which holds QUEUE_DEPTH chunks of the max adaptive chunk size.
+     *
+     * @param readMode the read mode
+     * @return the prefetch item reader
      */
     @Bean(name = JOB_NAME + "ItemReader", destroyMethod = "close")
     @StepScope
-    public JpaPagingItemReader<User> itemReader() {
-        log.debug("[reader] jpa paging read");
-        return new JpaPagingItemReaderBuilder<User>()
-                .name(JOB_NAME + "ItemReader")
-                .entityManagerFactory(entityManagerFactory)
-                .pageSize(PAGE_SIZE)
-                .queryString("select u from User u order by u.id")
-                .build();
+    public PrefetchItemReader<User> itemReader(@Value("#{jobParameters[readMode]}") String readMode) {
+        final int queueCapacity = maxChunkSize * QUEUE_DEPTH;
+        log.debug("[reader] user read (readMode: {}, prefetch queue: {})", readMode, queueCapacity);
+        final ItemStreamReader<User> delegate = userItemReader(JOB_NAME + "ItemReader", readMode, () -> CHUNK_SIZE, false
+                , null, null, null);
+        return new PrefetchItemReader<>(JOB_NAME + "ItemReader", delegate, queueCapacity);
+    }
+
+    /**
+     * Partition item reader item stream reader.
+     * a restarted partition resumes from its last committed id when the part file can be truncated
+     * back to the same commit (csv), compressed part files are rewritten from the start of the range.
+     *
+     * @param startId      the start id
+     * @param endId        the end id
+     * @param isLast       the is last
+     * @param readMode     the read mode
+     * @param exportFormat the export format
+     * @return the item stream reader
+     */
+    @Bean(name = JOB_NAME + "PartitionItemReader", destroyMethod = "close")
+    @StepScope
+    public ItemStreamReader<User> partitionItemReader(
+            @Value("#{stepExecutionContext[startId]}") String startId
+            , @Value("#{stepExecutionContext[endId]}") String endId
+            , @Value("#{stepExecutionContext[isLast]}") Boolean isLast
+            , @Value("#{jobParameters[readMode]}") String readMode
+            , @Value("#{jobParameters[exportFormat]}") String exportFormat) {
+        log.debug("[partition reader] start id: {}, end id: {}, last: {}, readMode: {}", startId, endId, isLast, readMode);
+        final boolean saveState = ExportFormat.of(exportFormat) == ExportFormat.CSV;
+        return userItemReader(JOB_NAME + "PartitionItemReader", readMode, completionPolicy()::getChunkSize, saveState, startId, endId, isLast);
     }
 
     /**
@@ -122,27 +272,76 @@ public class ThreadUserBatch extends AbstractBatch {
     }
 
     /**
-     * Item writer flat file item writer.
+     * Item writer synchronized item stream writer.
+     * the export writers are not thread-safe, so the worker threads write through a synchronized delegate.
+     * job parameter exportFormat selects csv (default), gzip, zstd or arrow.
      *
-     * @return the flat file item writer
+     * @param exportFormat the export format
+     * @return the synchronized item stream writer
      */
     @Bean(JOB_NAME + "ItemWriter")
     @StepScope
-    public FlatFileItemWriter<UserBak> itemWriter() {
-        log.debug("[writer] flat file writer (csv export)");
-        final BeanWrapperFieldExtractor<UserBak> extractor = new BeanWrapperFieldExtractor<>();
-        final String[] names = FieldUtils.getAllFieldsList(UserBak.class).stream().map(Field::getName).toArray(String[]::new);
-        final DelimitedLineAggregator<UserBak> lineAggregator = new DelimitedLineAggregator<>();
-        extractor.setNames(names);
-        lineAggregator.setDelimiter(",");
-        lineAggregator.setFieldExtractor(extractor);
-        return new FlatFileItemWriterBuilder<UserBak>()
-                .name(JOB_NAME + "ItemWriter")
-                .encoding(StandardCharsets.UTF_8.name())
-                .resource(new FileSystemResource(filePath + File.separator + "thread_user_batch.csv"))
-                .lineAggregator(lineAggregator)
-                .headerCallback(writer -> writer.write(StringUtils.joinWith(",", names)))
+    public SynchronizedItemStreamWriter<UserBak> itemWriter(@Value("#{jobParameters[exportFormat]}") String exportFormat) {
+        final ExportFormat format = ExportFormat.of(exportFormat);
+        log.debug("[writer] {} export writer", format.getExtension());
+        final ItemStreamWriter<UserBak> delegate;
+        switch (format) {
+            case GZIP:
+            case ZSTD:
+                delegate = new CompressedLineItemWriter<>(exportFile(format), format, new UserBakCsvLineAggregator()
+                        , UserBakCsvLineAggregator.HEADER);
+                break;
+            case ARROW:
+                delegate = new UserBakArrowItemWriter(exportFile(format));
+                break;
+            default:
+                // the multi-threaded reader keeps no restart position, so a restart rewrites the whole file
+                delegate = new FlatFileItemWriterBuilder<UserBak>()
+                        .name(JOB_NAME + "ItemWriter")
+                        .saveState(false)
+                        .encoding(StandardCharsets.UTF_8.name())
+                        .resource(new FileSystemResource(exportFile(format)))
+                        .lineAggregator(new UserBakCsvLineAggregator())
+                        .headerCallback(writer -> writer.write(UserBakCsvLineAggregator.HEADER))
+                        .build();
+        }
+        return new SynchronizedItemStreamWriterBuilder<UserBak>()
+                .delegate(delegate)
                 .build();
     }
 
+    /**
+     * Partition item writer item stream writer.
+     * part files are concatenated by the merge step, so only concatenable formats are supported.
+     *
+     * @param partitionNumber the partition number
+     * @param exportFormat    the export format
+     * @return the item stream writer
+     */
+    @Bean(JOB_NAME + "PartitionItemWriter")
+    @StepScope
+    public ItemStreamWriter<UserBak> partitionItemWriter(
+            @Value("#{stepExecutionContext[partitionNumber]}") Integer partitionNumber
+            , @Value("#{jobParameters[exportFormat]}") String exportFormat) {
+        final ExportFormat format = ExportFormat.of(exportFormat);
+        final Path partFile = partFile(partitionNumber, format);
+        log.debug("[partition writer] part file: {}", partFile);
+        if (format == ExportFormat.CSV) {
+            final FileChannelItemWriter<UserBak> writer = new FileChannelItemWriter<>(partFile, new UserBakCsvLineAggregator());
+            writer.setName(JOB_NAME + "PartitionItemWriter");
+            return writer;
+        }
+        final CompressedLineItemWriter<UserBak> writer = new CompressedLineItemWriter<>(partFile, format
+                , new UserBakCsvLineAggregator(), null);
+        writer.setName(JOB_NAME + "PartitionItemWriter");
+        return writer;
+    }
+
+    private Path exportFile(ExportFormat format) {
+        return Paths.get(filePath, EXPORT_FILE_NAME + "." + format.getExtension());
+    }
+
+    private Path partFile(int partitionNumber, ExportFormat format) {
+        return Paths.get(filePath, String.format("%s.part-%05d.%s", EXPORT_FILE_NAME, partitionNumber, format.getExtension()));
+    }
 }
@@ -0,0 +1,268 @@
+package com.minseok.batch.listener;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.ChunkListener;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.ItemProcessListener;
+import org.springframework.batch.core.ItemReadListener;
+import org.springframework.batch.core.ItemWriteListener;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobExecutionListener;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.retry.RetryCallback;
+import org.springframework.retry.RetryContext;
+import org.springframework.retry.RetryListener;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+/**
+ * package      : com.minseok.batch.listener
+ * class        : BatchMetricsListener
+ * author       : blenderkims
+ * date         : 2026/10/18
+ * description  : publishes job, step, chunk, item read/process/write and retry metrics to micrometer,
+ *                tagged by job, step and partition ("partitionStep:partition3" is step partitionStep,
+ *                partition partition3). one instance serves every step: the meters of the running step
+ *                are bound to the worker thread in beforeChunk. with a metrics file, the prometheus
+ *                text of all meters is written after every job for offline runs.
+ */
+@Slf4j
+public class BatchMetricsListener implements JobExecutionListener, StepExecutionListener, ChunkListener
+        , ItemReadListener<Object>, ItemProcessListener<Object, Object>, ItemWriteListener<Object>, RetryListener {
+    private final MeterRegistry meterRegistry;
+    private final Path metricsFile;
+    private final Map<Long, StepMeters> stepMeters = new ConcurrentHashMap<>();
+    private final ThreadLocal<StepMeters> currentStep = new ThreadLocal<>();
+    private final ThreadLocal<Long> chunkStart = new ThreadLocal<>();
+    private final ThreadLocal<Long> itemStart = new ThreadLocal<>();
+
+    /**
+     * Instantiates a new Batch metrics listener.
+     *
+     * @param meterRegistry the meter registry
+     * @param metricsFile   the metrics file (nullable)
+     */
+    public BatchMetricsListener(MeterRegistry meterRegistry, Path metricsFile) {
+        this.meterRegistry = meterRegistry;
+        this.metricsFile = metricsFile;
+    }
+
+    @Override
+    public void beforeJob(JobExecution jobExecution) {}
+
+    @Override
+    public void afterJob(JobExecution jobExecution) {
+        Timer.builder("batch.job.duration")
+                .tags("job", jobExecution.getJobInstance().getJobName(), "status", jobExecution.getStatus().name())
+                .register(meterRegistry)
+                .record(elapsed(jobExecution.getStartTime(), jobExecution.getEndTime()));
+        dump();
+    }
+
+    @Override
+    public void beforeStep(StepExecution stepExecution) {
+        stepMeters.put(stepExecution.getId(), new StepMeters(tags(stepExecution)));
+    }
+
+    @Override
+    public ExitStatus afterStep(StepExecution stepExecution) {
+        final StepMeters meters = stepMeters.remove(stepExecution.getId());
+        final Tags tags = meters == null ? tags(stepExecution) : meters.tags;
+        final Duration elapsed = elapsed(stepExecution.getStartTime(), stepExecution.getEndTime());
+        Timer.builder("batch.step.duration")
+                .tags(tags.and("status", stepExecution.getStatus().name()))
+                .register(meterRegistry)
+                .record(elapsed);
+        Counter.builder("batch.item.filtered")
+                .tags(tags)
+                .register(meterRegistry)
+                .increment(stepExecution.getFilterCount());
+        if (!elapsed.isZero()) {
+            DistributionSummary.builder("batch.step.throughput")
+                    .baseUnit("rows/s")
+                    .tags(tags)
+                    .register(meterRegistry)
+                    .record(stepExecution.getWriteCount() * 1000d / elapsed.toMillis());
+        }
+        return null;
+    }
+
+    @Override
+    public void beforeChunk(ChunkContext context) {
+        final StepExecution stepExecution = context.getStepContext().getStepExecution();
+        currentStep.set(stepMeters.computeIfAbsent(stepExecution.getId(), id -> new StepMeters(tags(stepExecution))));
+        chunkStart.set(System.nanoTime());
+    }
+
+    @Override
+    public void afterChunk(ChunkContext context) {
+        record(meters -> meters.chunk, chunkStart);
+        currentStep.remove();
+    }
+
+    @Override
+    public void afterChunkError(ChunkContext context) {
+        final StepMeters meters = currentStep.get();
+        if (meters != null) {
+            meters.rollback.increment();
+        }
+        chunkStart.remove();
+        currentStep.remove();
+    }
+
+    @Override
+    public void beforeRead() {
+        itemStart.set(System.nanoTime());
+    }
+
+    @Override
+    public void afterRead(Object item) {
+        record(meters -> meters.read, itemStart);
+    }
+
+    @Override
+    public void onReadError(Exception ex) {
+        itemStart.remove();
+    }
+
+    @Override
+    public void beforeProcess(Object item) {
+        itemStart.set(System.nanoTime());
+    }
+
+    @Override
+    public void afterProcess(Object item, Object result) {
+        record(meters -> meters.process, itemStart);
+    }
+
+    @Override
+    public void onProcessError(Object item, Exception e) {
+        itemStart.remove();
+    }
+
+    @Override
+    public void beforeWrite(List<?> items) {
+        itemStart.set(System.nanoTime());
+    }
+
+    @Override
+    public void afterWrite(List<?> items) {
+        record(meters -> meters.write, itemStart);
+        final StepMeters meters = currentStep.get();
+        if (meters != null) {
+            meters.written.increment(items.size());
+        }
+    }
+
+    @Override
+    public void onWriteError(Exception exception, List<?> items) {
+        itemStart.remove();
+    }
+
+    @Override
+    public <T, E extends Throwable> boolean open(RetryContext context, RetryCallback<T, E> callback) {
+        return true;
+    }
+
+    @Override
+    public <T, E extends Throwable> void close(RetryContext context, RetryCallback<T, E> callback, Throwable throwable) {}
+
+    @Override
+    public <T, E extends Throwable> void onError(RetryContext context, RetryCallback<T, E> callback, Throwable throwable) {
+        final StepMeters meters = currentStep.get();
+        Counter.builder("batch.retry")
+                .tags((meters == null ? Tags.empty() : meters.tags).and("exception", throwable.getClass().getSimpleName()))
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private void record(Function<StepMeters, Timer> timer, ThreadLocal<Long> start) {
+        final Long started = start.get();
+        final StepMeters meters = currentStep.get();
+        if (started != null && meters != null) {
+            timer.apply(meters).record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+        start.remove();
+    }
+
+    private void dump() {
+        if (metricsFile == null) {
+            return;
+        }
+        try {
+            if (metricsFile.getParent() != null) {
+                Files.createDirectories(metricsFile.getParent());
+            }
+            Files.write(metricsFile, text().getBytes(StandardCharsets.UTF_8));
+            log.info("[metrics] written to {}", metricsFile);
+        } catch (IOException e) {
+            log.warn("[metrics] failed to write {}", metricsFile, e);
+        }
+    }
+
+    private String text() {
+        if (meterRegistry instanceof PrometheusMeterRegistry) {
+            return ((PrometheusMeterRegistry) meterRegistry).scrape();
+        }
+        return meterRegistry.getMeters().stream()
+                .flatMap(meter -> StreamSupport.stream(meter.measure().spliterator(), false)
+                        .map(measurement -> meter.getId().getName() + meter.getId().getTags() + " "
+                                + measurement.getStatistic().getTagValueRepresentation() + "=" + measurement.getValue()))
+                .collect(Collectors.joining(System.lineSeparator()));
+    }
+
+    private static Tags tags(StepExecution stepExecution) {
+        final String stepName = stepExecution.getStepName();
+        final int separator = stepName.indexOf(':');
+        return Tags.of("job", stepExecution.getJobExecution().getJobInstance().getJobName()
+                , "step", separator < 0 ? stepName : stepName.substring(0, separator)
+                , "partition", separator < 0 ? "none" : stepName.substring(separator + 1));
+    }
+
+    private static Duration elapsed(Date start, Date end) {
+        if (start == null) {
+            return Duration.ZERO;
+        }
+        return Duration.ofMillis((end == null ? System.currentTimeMillis() : end.getTime()) - start.getTime());
+    }
+
+    private class StepMeters {
+        private final Tags tags;
+        private final Timer read;
+        private final Timer process;
+        private final Timer write;
+        private final Timer chunk;
+        private final Counter written;
+        private final Counter rollback;
+
+        private StepMeters(Tags tags) {
+            this.tags = tags;
+            this.read = Timer.builder("batch.item.read").tags(tags).register(meterRegistry);
+            this.process = Timer.builder("batch.item.process").tags(tags).register(meterRegistry);
+            this.write = Timer.builder("batch.chunk.write").tags(tags).register(meterRegistry);
+            this.chunk = Timer.builder("batch.chunk.duration").tags(tags).register(meterRegistry);
+            this.written = Counter.builder("batch.item.written").tags(tags).register(meterRegistry);
+            this.rollback = Counter.builder("batch.chunk.rollback").tags(tags).register(meterRegistry);
+        }
+    }
+}
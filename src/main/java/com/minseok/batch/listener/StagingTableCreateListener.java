@@ -0,0 +1,62 @@
+package com.minseok.batch.listener;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * package      : com.minseok.batch.listener
+ * class        : StagingTableCreateListener
+ * author       : blenderkims
+ * date         : 2026/10/18
+ * description  : creates an empty staging table like the target before the load step. a restarted step keeps
+ *                the rows its completed partitions already loaded, so a staging table that disappeared meanwhile
+ *                fails the step instead of being recreated empty. the swap is the StagingTableSwapTasklet step.
+ */
+@Slf4j
+public class StagingTableCreateListener implements StepExecutionListener {
+    private static final String STAGING_CREATED = "staging.created";
+    private static final String TABLE_EXISTS = "select count(*) from information_schema.tables where table_schema = database() and table_name = ?";
+    private final JdbcTemplate jdbcTemplate;
+    private final String table;
+    private final String stagingTable;
+
+    /**
+     * Instantiates a new Staging table create listener.
+     *
+     * @param jdbcTemplate the jdbc template
+     * @param table        the target table
+     * @param stagingTable the staging table
+     */
+    public StagingTableCreateListener(JdbcTemplate jdbcTemplate, String table, String stagingTable) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.table = table;
+        this.stagingTable = stagingTable;
+    }
+
+    @Override
+    public void beforeStep(StepExecution stepExecution) {
+        final ExecutionContext executionContext = stepExecution.getExecutionContext();
+        if (executionContext.containsKey(STAGING_CREATED)) {
+            final Integer exists = jdbcTemplate.queryForObject(TABLE_EXISTS, Integer.class, stagingTable);
+            if (exists == null || exists == 0) {
+                throw new IllegalStateException(stagingTable + " of the restarted step is gone, the loaded partitions are lost."
+                        + " abandon the job execution and run a new full rebuild");
+            }
+            log.info("[staging] restart keeps {}", stagingTable);
+            return;
+        }
+        jdbcTemplate.execute("drop table if exists " + stagingTable);
+        jdbcTemplate.execute("create table " + stagingTable + " like " + table);
+        executionContext.putString(STAGING_CREATED, stagingTable);
+        log.info("[staging] {} created like {}", stagingTable, table);
+    }
+
+    @Override
+    public ExitStatus afterStep(StepExecution stepExecution) {
+        return null;
+    }
+}
@@ -0,0 +1,91 @@
+package com.minseok.batch.listener;
+
+import com.minseok.batch.datasource.ReplicaRoutingDataSource;
+import com.minseok.batch.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobExecutionListener;
+import org.springframework.batch.core.JobInstance;
+import org.springframework.batch.core.explore.JobExplorer;
+import org.springframework.batch.item.ExecutionContext;
+
+import java.util.List;
+
+import static com.minseok.batch.reader.ModifiedUserItemReader.WATERMARK_ID;
+import static com.minseok.batch.reader.ModifiedUserItemReader.WATERMARK_MODIFIED_AT;
+
+/**
+ * package      : com.minseok.batch.listener
+ * class        : SyncWatermarkListener
+ * author       : blenderkims
+ * date         : 2026/10/18
+ * description  : keeps the (modifiedAt, id) high-water mark of the sync job in the job execution context.
+ *                incremental runs start from the watermark of the last completed run, full runs record
+ *                the newest user at start. the incremental step promotes its last read key over it.
+ *                the newest user is looked up on the replica the users are read from, so a lagging replica
+ *                never moves the watermark over rows the run did not see.
+ *                rows committed late behind a watermark are picked up by the overlap the next incremental run
+ *                reads again (spring.batch.sync.watermark-overlap).
+ */
+@Slf4j
+public class SyncWatermarkListener implements JobExecutionListener {
+    private static final int PAGE_SIZE = 100;
+    private final JobExplorer jobExplorer;
+    private final UserRepository userRepository;
+    private final String incrementalSyncMode;
+
+    /**
+     * Instantiates a new Sync watermark listener.
+     *
+     * @param jobExplorer         the job explorer
+     * @param userRepository      the user repository
+     * @param incrementalSyncMode the sync mode job parameter value of incremental runs
+     */
+    public SyncWatermarkListener(JobExplorer jobExplorer, UserRepository userRepository, String incrementalSyncMode) {
+        this.jobExplorer = jobExplorer;
+        this.userRepository = userRepository;
+        this.incrementalSyncMode = incrementalSyncMode;
+    }
+
+    @Override
+    public void beforeJob(JobExecution jobExecution) {
+        final ExecutionContext executionContext = jobExecution.getExecutionContext();
+        if (executionContext.containsKey(WATERMARK_MODIFIED_AT)) {
+            // restarted execution keeps its own watermark
+            return;
+        }
+        if (incrementalSyncMode.equalsIgnoreCase(jobExecution.getJobParameters().getString("syncMode"))) {
+            final ExecutionContext previous = previousWatermark(jobExecution.getJobInstance().getJobName());
+            if (previous != null) {
+                executionContext.putString(WATERMARK_MODIFIED_AT, previous.getString(WATERMARK_MODIFIED_AT));
+                executionContext.putString(WATERMARK_ID, previous.getString(WATERMARK_ID));
+            }
+        } else {
+            ReplicaRoutingDataSource.onReplica(userRepository::findTopByModifiedAtNotNullOrderByModifiedAtDescIdDesc).ifPresent(user -> {
+                executionContext.putString(WATERMARK_MODIFIED_AT, user.getModifiedAt().toString());
+                executionContext.putString(WATERMARK_ID, user.getId());
+            });
+        }
+        log.info("[watermark] modified at: {}, id: {}", executionContext.get(WATERMARK_MODIFIED_AT), executionContext.get(WATERMARK_ID));
+    }
+
+    @Override
+    public void afterJob(JobExecution jobExecution) {}
+
+    private ExecutionContext previousWatermark(String jobName) {
+        for (int start = 0; ; start += PAGE_SIZE) {
+            final List<JobInstance> jobInstances = jobExplorer.getJobInstances(jobName, start, PAGE_SIZE);
+            if (jobInstances.isEmpty()) {
+                return null;
+            }
+            for (JobInstance jobInstance : jobInstances) {
+                for (JobExecution execution : jobExplorer.getJobExecutions(jobInstance)) {
+                    if (execution.getStatus() == BatchStatus.COMPLETED && execution.getExecutionContext().containsKey(WATERMARK_MODIFIED_AT)) {
+                        return execution.getExecutionContext();
+                    }
+                }
+            }
+        }
+    }
+}
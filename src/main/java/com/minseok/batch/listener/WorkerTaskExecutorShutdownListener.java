@@ -1,9 +1,11 @@
 package com.minseok.batch.listener;
 
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.batch.core.JobExecution;
 import org.springframework.batch.core.JobExecutionListener;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.annotation.Qualifier;
-import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
 
 /**
  * package      : com.minseok.batch.listener
@@ -12,16 +14,17 @@ import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
  * date         : 2023/04/12
  * description  :
  */
+@Slf4j
 public class WorkerTaskExecutorShutdownListener implements JobExecutionListener {
-    private final ThreadPoolTaskExecutor threadPoolTaskExecutor;
+    private final TaskExecutor taskExecutor;
 
     /**
      * Instantiates a new Worker task executor shutdown listener.
      *
-     * @param threadPoolTaskExecutor the thread pool task executor
+     * @param taskExecutor the task executor (thread pool or virtual thread executor)
      */
-    public WorkerTaskExecutorShutdownListener(@Qualifier("workerTaskExecutor") ThreadPoolTaskExecutor threadPoolTaskExecutor) {
-        this.threadPoolTaskExecutor = threadPoolTaskExecutor;
+    public WorkerTaskExecutorShutdownListener(@Qualifier("workerTaskExecutor") TaskExecutor taskExecutor) {
+        this.taskExecutor = taskExecutor;
     }
 
     @Override
@@ -29,6 +32,12 @@ public class WorkerTaskExecutorShutdownListener implements JobExecutionListener
 
     @Override
     public void afterJob(JobExecution jobExecution) {
-        threadPoolTaskExecutor.shutdown();
+        if (taskExecutor instanceof DisposableBean) {
+            try {
+                ((DisposableBean) taskExecutor).destroy();
+            } catch (Exception e) {
+                log.warn("worker task executor shutdown failed", e);
+            }
+        }
     }
 }
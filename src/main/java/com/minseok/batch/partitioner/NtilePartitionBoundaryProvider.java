@@ -0,0 +1,28 @@
+package com.minseok.batch.partitioner;
+
+import com.minseok.batch.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+
+/**
+ * package      : com.minseok.batch.partitioner
+ * class        : NtilePartitionBoundaryProvider
+ * author       : blenderkims
+ * date         : 2026/10/18
+ * description  : computes every split id in a single ntile() window function query.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class NtilePartitionBoundaryProvider implements PartitionBoundaryProvider {
+
+    private final UserRepository userRepository;
+
+    @Override
+    public List<String> boundaries(int gridSize) {
+        final List<String> boundaries = userRepository.findNtileBoundaries(gridSize);
+        log.debug("[ntile boundary] grid size: {}, boundaries: {}", gridSize, boundaries.size());
+        return boundaries;
+    }
+}
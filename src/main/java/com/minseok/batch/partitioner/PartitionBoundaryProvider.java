@@ -0,0 +1,23 @@
+package com.minseok.batch.partitioner;
+
+import java.util.List;
+
+/**
+ * package      : com.minseok.batch.partitioner
+ * class        : PartitionBoundaryProvider
+ * author       : blenderkims
+ * date         : 2026/10/18
+ * description  :
+ */
+public interface PartitionBoundaryProvider {
+
+    /**
+     * Boundaries list.
+     * ascending, distinct split ids. the first one is the min id and the last one is the max id.
+     * partition i covers [boundaries[i], boundaries[i + 1]) and the last partition includes the max id.
+     *
+     * @param gridSize the grid size
+     * @return the list (empty when there is no row)
+     */
+    List<String> boundaries(int gridSize);
+}
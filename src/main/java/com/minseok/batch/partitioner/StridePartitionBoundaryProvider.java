@@ -0,0 +1,70 @@
+package com.minseok.batch.partitioner;
+
+import com.minseok.batch.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * package      : com.minseok.batch.partitioner
+ * class        : StridePartitionBoundaryProvider
+ * author       : blenderkims
+ * date         : 2026/10/18
+ * description  : picks the split ids in a single streaming id scan with a fixed stride.
+ *                for databases without window functions.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class StridePartitionBoundaryProvider implements PartitionBoundaryProvider {
+
+    private final UserRepository userRepository;
+    private final TransactionOperations transactionOperations;
+
+    @Override
+    public List<String> boundaries(int gridSize) {
+        final List<String> boundaries = transactionOperations.execute(status -> scan(gridSize));
+        log.debug("[stride boundary] grid size: {}, boundaries: {}", gridSize, boundaries == null ? 0 : boundaries.size());
+        return boundaries == null ? Collections.emptyList() : boundaries;
+    }
+
+    private List<String> scan(int gridSize) {
+        final long totalCount = userRepository.count();
+        if (totalCount == 0) {
+            return Collections.emptyList();
+        }
+        final List<String> boundaries = new ArrayList<>(gridSize + 1);
+        int part = 0;
+        long next = 0;
+        long index = 0;
+        String last = null;
+        try (Stream<String> ids = userRepository.streamAllIds()) {
+            final Iterator<String> iterator = ids.iterator();
+            while (iterator.hasNext()) {
+                final String id = iterator.next();
+                while (part < gridSize && index >= next) {
+                    if (!id.equals(last(boundaries))) {
+                        boundaries.add(id);
+                    }
+                    part++;
+                    next = part * totalCount / gridSize;
+                }
+                last = id;
+                index++;
+            }
+        }
+        if (last != null && !last.equals(last(boundaries))) {
+            boundaries.add(last);
+        }
+        return boundaries;
+    }
+
+    private String last(List<String> boundaries) {
+        return boundaries.isEmpty() ? null : boundaries.get(boundaries.size() - 1);
+    }
+}
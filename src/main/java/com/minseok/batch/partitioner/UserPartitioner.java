@@ -1,63 +1,89 @@
 package com.minseok.batch.partitioner;
 
+import com.minseok.batch.datasource.ReplicaRoutingDataSource;
 import com.minseok.batch.repository.UserRepository;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.batch.core.partition.support.Partitioner;
+import org.springframework.batch.core.scope.context.StepContext;
+import org.springframework.batch.core.scope.context.StepSynchronizationManager;
 import org.springframework.batch.item.ExecutionContext;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Sort;
 
-import java.util.Comparator;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-
-import static org.springframework.data.domain.Sort.Direction.ASC;
+import java.util.stream.Collectors;
 
 /**
  * package      : com.minseok.batch.partitioner
  * class        : UserPartitioner
  * author       : blenderkims
  * date         : 2023/04/12
- * description  :
+ * description  : splits the tb_user id space into ranges. the boundaries are kept in the execution context
+ *                of the partitioning (manager) step, so a restarted step gets the same ranges back and only
+ *                re-runs the incomplete ones from their own checkpoint, even when tb_user changed meanwhile.
+ *                the boundary queries run on the read replica.
  */
 @Slf4j
-@RequiredArgsConstructor
 public class UserPartitioner implements Partitioner {
+    private static final String BOUNDARIES = "partition.boundaries";
+
+    private final PartitionBoundaryProvider boundaryProvider;
+
+    /**
+     * Instantiates a new User partitioner. (ntile boundary provider)
+     *
+     * @param userRepository the user repository
+     */
+    public UserPartitioner(UserRepository userRepository) {
+        this(new NtilePartitionBoundaryProvider(userRepository));
+    }
 
-    private final UserRepository userRepository;
+    /**
+     * Instantiates a new User partitioner.
+     *
+     * @param boundaryProvider the boundary provider
+     */
+    public UserPartitioner(PartitionBoundaryProvider boundaryProvider) {
+        this.boundaryProvider = boundaryProvider;
+    }
 
     @Override
     public Map<String, ExecutionContext> partition(int gridSize) {
         final Map<String, ExecutionContext> result = new HashMap<>();
-        final long totalCount = userRepository.count();
-        final int unit = (int)(totalCount / gridSize);
-        final String minId = userRepository.findMinId();
-        final String maxId = userRepository.findMaxId();
-        int number = 0;
-        int page = unit;
-        String startId = minId;
-        String endId = userRepository.findIdsByPageable(pageable(page)).stream().max(Comparator.comparing(String::toString)).orElse(maxId);
-        while (startId.compareTo(maxId) < 0) {
+        final List<String> boundaries = boundaries(gridSize);
+        if (boundaries.isEmpty()) {
+            return result;
+        }
+        final int partitionCount = Math.max(1, boundaries.size() - 1);
+        for (int number = 0; number < partitionCount; number++) {
+            final String startId = boundaries.get(number);
+            final String endId = boundaries.get(Math.min(number + 1, boundaries.size() - 1));
+            final boolean isLast = number == partitionCount - 1;
             ExecutionContext executionContext = new ExecutionContext();
             result.put("partition" + number, executionContext);
+            executionContext.putInt("partitionNumber", number);
             executionContext.putString("startId", startId);
             executionContext.putString("endId", endId);
-            if (maxId.equals(endId)) {
-                executionContext.put("isLast", Boolean.TRUE);
-            } else {
-                executionContext.put("isLast", Boolean.FALSE);
-            }
-            log.debug("[partition: {}] start id: {}, end id: {}, last: {}", number, startId, endId, executionContext.get("isLast"));
-            page = page + unit;
-            startId = endId;
-            endId = userRepository.findIdsByPageable(pageable(page)).stream().max(Comparator.comparing(String::toString)).orElse(maxId);
-            number++;
+            executionContext.put("isLast", isLast);
+            log.debug("[partition: {}] start id: {}, end id: {}, last: {}", number, startId, endId, isLast);
         }
         return result;
     }
 
-    private PageRequest pageable(int page) {
-        return PageRequest.of(page - 1, 1, Sort.by(ASC, "id"));
+    private List<String> boundaries(int gridSize) {
+        final StepContext stepContext = StepSynchronizationManager.getContext();
+        final ExecutionContext executionContext = stepContext == null ? null : stepContext.getStepExecution().getExecutionContext();
+        if (executionContext != null && executionContext.containsKey(BOUNDARIES)) {
+            final String saved = executionContext.getString(BOUNDARIES);
+            log.info("[partitioner] restart with the saved boundaries");
+            return saved.isEmpty() ? List.of() : Arrays.asList(saved.split(","));
+        }
+        final List<String> boundaries = ReplicaRoutingDataSource.onReplica(() -> boundaryProvider.boundaries(gridSize)).stream()
+                .distinct().collect(Collectors.toList());
+        if (executionContext != null) {
+            executionContext.putString(BOUNDARIES, String.join(",", boundaries));
+        }
+        return boundaries;
     }
 }
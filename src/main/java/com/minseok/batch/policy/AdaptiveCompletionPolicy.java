@@ -0,0 +1,186 @@
+package com.minseok.batch.policy;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.ChunkListener;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.repeat.RepeatContext;
+import org.springframework.batch.repeat.context.RepeatContextSupport;
+import org.springframework.batch.repeat.policy.CompletionPolicySupport;
+import org.springframework.util.Assert;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * package      : com.minseok.batch.policy
+ * class        : AdaptiveCompletionPolicy
+ * author       : blenderkims
+ * date         : 2026/10/18
+ * description  : chunk completion policy that tunes the chunk size from the measured chunk latency.
+ *                a chunk faster than half of the target grows the size by a quarter, a chunk slower than
+ *                the target shrinks it by a quarter and a rolled back chunk (e.g. lock contention) halves it,
+ *                always within [minChunkSize, maxChunkSize]. every chunk keeps the size it started with,
+ *                so concurrent chunks of a multi-threaded step are not resized mid-way.
+ *                the chosen sizes are recorded in the step execution context.
+ *                must be registered as the chunk completion policy and as a chunk listener of the same step.
+ */
+@Slf4j
+public class AdaptiveCompletionPolicy extends CompletionPolicySupport implements ChunkListener {
+    /**
+     * The constant CHUNK_SIZE. (current chunk size)
+     */
+    public static final String CHUNK_SIZE = "adaptive.chunk.size";
+    /**
+     * The constant MIN_USED_CHUNK_SIZE.
+     */
+    public static final String MIN_USED_CHUNK_SIZE = "adaptive.chunk.size.min";
+    /**
+     * The constant MAX_USED_CHUNK_SIZE.
+     */
+    public static final String MAX_USED_CHUNK_SIZE = "adaptive.chunk.size.max";
+    /**
+     * The constant ADJUSTMENTS.
+     */
+    public static final String ADJUSTMENTS = "adaptive.chunk.adjustments";
+    /**
+     * The constant ROWS_PER_SECOND. (last chunk)
+     */
+    public static final String ROWS_PER_SECOND = "adaptive.chunk.rowsPerSecond";
+    private final int minChunkSize;
+    private final int maxChunkSize;
+    private final long targetChunkNanos;
+    private final LongSupplier nanoClock;
+    private final ThreadLocal<Long> chunkStart = new ThreadLocal<>();
+    private final ThreadLocal<Integer> chunkTarget = new ThreadLocal<>();
+    private volatile int chunkSize;
+    private int minUsedChunkSize;
+    private int maxUsedChunkSize;
+    private int adjustments;
+    private long rowsPerSecond;
+
+    /**
+     * Instantiates a new Adaptive completion policy.
+     *
+     * @param initialChunkSize  the initial chunk size
+     * @param minChunkSize      the min chunk size
+     * @param maxChunkSize      the max chunk size
+     * @param targetChunkMillis the target chunk (read, process, write and commit) latency in millis
+     */
+    public AdaptiveCompletionPolicy(int initialChunkSize, int minChunkSize, int maxChunkSize, long targetChunkMillis) {
+        this(initialChunkSize, minChunkSize, maxChunkSize, targetChunkMillis, System::nanoTime);
+    }
+
+    /**
+     * Instantiates a new Adaptive completion policy with the clock of the chunk latency.
+     *
+     * @param initialChunkSize  the initial chunk size
+     * @param minChunkSize      the min chunk size
+     * @param maxChunkSize      the max chunk size
+     * @param targetChunkMillis the target chunk (read, process, write and commit) latency in millis
+     * @param nanoClock         the nano time clock
+     */
+    AdaptiveCompletionPolicy(int initialChunkSize, int minChunkSize, int maxChunkSize, long targetChunkMillis, LongSupplier nanoClock) {
+        Assert.isTrue(minChunkSize > 0, "Min chunk size must be greater than zero");
+        Assert.isTrue(minChunkSize <= maxChunkSize, "Min chunk size must not be greater than max chunk size");
+        Assert.isTrue(targetChunkMillis > 0, "Target chunk millis must be greater than zero");
+        this.minChunkSize = minChunkSize;
+        this.maxChunkSize = maxChunkSize;
+        this.targetChunkNanos = TimeUnit.MILLISECONDS.toNanos(targetChunkMillis);
+        this.nanoClock = nanoClock;
+        this.chunkSize = Math.max(minChunkSize, Math.min(maxChunkSize, initialChunkSize));
+        this.minUsedChunkSize = chunkSize;
+        this.maxUsedChunkSize = chunkSize;
+    }
+
+    /**
+     * Gets chunk size. (the size of the next chunk)
+     *
+     * @return the chunk size
+     */
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    @Override
+    public RepeatContext start(RepeatContext parent) {
+        final int size = chunkSize;
+        chunkTarget.set(size);
+        return new SizedRepeatContext(parent, size);
+    }
+
+    @Override
+    public boolean isComplete(RepeatContext context) {
+        return context.getStartedCount() >= ((SizedRepeatContext) context).size;
+    }
+
+    @Override
+    public void beforeChunk(ChunkContext context) {
+        chunkStart.set(nanoClock.getAsLong());
+    }
+
+    @Override
+    public void afterChunk(ChunkContext context) {
+        final Long start = chunkStart.get();
+        final Integer size = chunkTarget.get();
+        if (start == null || size == null) {
+            return;
+        }
+        final long elapsed = Math.max(1L, nanoClock.getAsLong() - start);
+        synchronized (this) {
+            rowsPerSecond = size * TimeUnit.SECONDS.toNanos(1) / elapsed;
+            if (elapsed < targetChunkNanos / 2) {
+                resize(size + Math.max(1, size / 4));
+            } else if (elapsed > targetChunkNanos) {
+                resize(size - Math.max(1, size / 4));
+            }
+            record(context);
+        }
+        clear();
+    }
+
+    @Override
+    public void afterChunkError(ChunkContext context) {
+        synchronized (this) {
+            final Integer size = chunkTarget.get();
+            resize((size == null ? chunkSize : size) / 2);
+            record(context);
+        }
+        clear();
+    }
+
+    private void resize(int size) {
+        final int bounded = Math.max(minChunkSize, Math.min(maxChunkSize, size));
+        if (bounded == chunkSize) {
+            return;
+        }
+        log.debug("[adaptive chunk] chunk size {} -> {} ({} rows/s)", chunkSize, bounded, rowsPerSecond);
+        chunkSize = bounded;
+        minUsedChunkSize = Math.min(minUsedChunkSize, bounded);
+        maxUsedChunkSize = Math.max(maxUsedChunkSize, bounded);
+        adjustments++;
+    }
+
+    private void record(ChunkContext context) {
+        final ExecutionContext executionContext = context.getStepContext().getStepExecution().getExecutionContext();
+        executionContext.putInt(CHUNK_SIZE, chunkSize);
+        executionContext.putInt(MIN_USED_CHUNK_SIZE, minUsedChunkSize);
+        executionContext.putInt(MAX_USED_CHUNK_SIZE, maxUsedChunkSize);
+        executionContext.putInt(ADJUSTMENTS, adjustments);
+        executionContext.putLong(ROWS_PER_SECOND, rowsPerSecond);
+    }
+
+    private void clear() {
+        chunkStart.remove();
+        chunkTarget.remove();
+    }
+
+    private static class SizedRepeatContext extends RepeatContextSupport {
+        private final int size;
+
+        private SizedRepeatContext(RepeatContext parent, int size) {
+            super(parent);
+            this.size = size;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.minseok.batch.processor;
+
+import com.minseok.batch.entity.User;
+import com.minseok.batch.entity.UserBak;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.item.ItemProcessor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.util.Assert;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * package      : com.minseok.batch.processor
+ * class        : DigestFilteringItemProcessor
+ * author       : blenderkims
+ * date         : 2026/10/18
+ * description  : maps a user to its user bak and filters it out (null) when the digest stored in the target table
+ *                is the same, so unchanged rows are not written again. the stored digests are loaded in id windows
+ *                of window size rows starting at the first id not covered yet, the users have to come in id order.
+ *                the windows stop at the end id of the partition, so the last window of a partition does not load
+ *                the digests of the next one.
+ *                the filtered rows are counted as filter count of the step execution. a row without digest
+ *                (written before the digest column) is always written.
+ */
+@Slf4j
+public class DigestFilteringItemProcessor implements ItemProcessor<User, UserBak> {
+    private static final String WINDOW_QUERY = "select id, digest from %s where id >= ?%s order by id limit ?";
+    private final JdbcTemplate jdbcTemplate;
+    private final String sql;
+    private final int windowSize;
+    private final String endId;
+    private final Map<String, String> digests = new HashMap<>();
+    private String windowLowerId;
+    private String windowUpperId;
+    private boolean windowOpen;
+
+    /**
+     * Instantiates a new Digest filtering item processor.
+     *
+     * @param jdbcTemplate the jdbc template
+     * @param table        the target table
+     * @param windowSize   the window size
+     * @param endId        the end id (nullable)
+     * @param endInclusive the end inclusive
+     */
+    public DigestFilteringItemProcessor(JdbcTemplate jdbcTemplate, String table, int windowSize, String endId, boolean endInclusive) {
+        Assert.notNull(jdbcTemplate, "A jdbc template is required");
+        Assert.hasText(table, "A table is required");
+        Assert.isTrue(windowSize > 0, "Window size must be greater than zero");
+        this.jdbcTemplate = jdbcTemplate;
+        this.sql = String.format(WINDOW_QUERY, table, endId == null ? "" : endInclusive ? " and id <= ?" : " and id < ?");
+        this.windowSize = windowSize;
+        this.endId = endId;
+    }
+
+    @Override
+    public UserBak process(User user) {
+        final UserBak userBak = UserBak.of(user);
+        if (!covers(userBak.getId())) {
+            load(userBak.getId());
+        }
+        return userBak.getDigest().equals(digests.get(userBak.getId())) ? null : userBak;
+    }
+
+    private boolean covers(String id) {
+        return windowLowerId != null && id.compareTo(windowLowerId) >= 0 && (windowOpen || id.compareTo(windowUpperId) <= 0);
+    }
+
+    private void load(String fromId) {
+        digests.clear();
+        final List<String> ids = jdbcTemplate.query(sql, (rs, rowNum) -> {
+            final String id = rs.getString(1);
+            digests.put(id, rs.getString(2));
+            return id;
+        }, endId == null ? new Object[]{fromId, windowSize} : new Object[]{fromId, endId, windowSize});
+        windowLowerId = fromId;
+        // a short window reaches the end of the table (or of the partition)
+        windowOpen = ids.size() < windowSize;
+        windowUpperId = ids.isEmpty() ? fromId : ids.get(ids.size() - 1);
+        log.debug("[digest filter] window from {} to {}: {} digests", fromId, windowOpen ? "end" : windowUpperId, ids.size());
+    }
+}
@@ -0,0 +1,277 @@
+package com.minseok.batch.reader;
+
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamException;
+import org.springframework.batch.item.support.AbstractItemCountingItemStreamItemReader;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.TypedQuery;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.IntSupplier;
+
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
+
+/**
+ * package      : com.minseok.batch.reader
+ * class        : KeysetPagingItemReader
+ * author       : blenderkims
+ * date         : 2026/10/18
+ * description  : seek(keyset) pagination reader. every page is fetched with
+ *                "where key > :lastKey order by key" instead of limit/offset,
+ *                so page N costs the same as page 1. the last read key is kept
+ *                in the execution context and used as the restart position.
+ *                pages are loaded read-only, so no dirty-checking snapshot is kept.
+ */
+public class KeysetPagingItemReader<T> extends AbstractItemCountingItemStreamItemReader<T> implements InitializingBean {
+    private static final String LAST_KEY = "last.key";
+    private static final String ALIAS = "e";
+    private final Object lock = new Object();
+    private final Map<String, Object> jpaPropertyMap = new HashMap<>();
+    private EntityManagerFactory entityManagerFactory;
+    private Class<T> entityClass;
+    private String keyAttribute = "id";
+    private Function<T, String> keyExtractor;
+    private String startKey;
+    private String endKey;
+    private boolean endInclusive;
+    private IntSupplier pageSize = () -> 10;
+    private EntityManager entityManager;
+    private String firstPageQuery;
+    private String nextPageQuery;
+    private Iterator<T> page = Collections.emptyIterator();
+    private boolean exhausted;
+    private String lastKey;
+
+    /**
+     * Instantiates a new Keyset paging item reader.
+     */
+    public KeysetPagingItemReader() {
+        setName(ClassUtils.getShortName(KeysetPagingItemReader.class));
+    }
+
+    /**
+     * Sets entity manager factory.
+     *
+     * @param entityManagerFactory the entity manager factory
+     */
+    public void setEntityManagerFactory(EntityManagerFactory entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    /**
+     * Sets entity class.
+     *
+     * @param entityClass the entity class
+     */
+    public void setEntityClass(Class<T> entityClass) {
+        this.entityClass = entityClass;
+    }
+
+    /**
+     * Sets key attribute. (default: id)
+     *
+     * @param keyAttribute the key attribute
+     */
+    public void setKeyAttribute(String keyAttribute) {
+        this.keyAttribute = keyAttribute;
+    }
+
+    /**
+     * Sets key extractor.
+     *
+     * @param keyExtractor the key extractor
+     */
+    public void setKeyExtractor(Function<T, String> keyExtractor) {
+        this.keyExtractor = keyExtractor;
+    }
+
+    /**
+     * Sets start key. (inclusive)
+     *
+     * @param startKey the start key
+     */
+    public void setStartKey(String startKey) {
+        this.startKey = startKey;
+    }
+
+    /**
+     * Sets end key.
+     *
+     * @param endKey the end key
+     */
+    public void setEndKey(String endKey) {
+        this.endKey = endKey;
+    }
+
+    /**
+     * Sets end inclusive.
+     *
+     * @param endInclusive the end inclusive
+     */
+    public void setEndInclusive(boolean endInclusive) {
+        this.endInclusive = endInclusive;
+    }
+
+    /**
+     * Sets page size.
+     *
+     * @param pageSize the page size
+     */
+    public void setPageSize(int pageSize) {
+        Assert.isTrue(pageSize > 0, "Page size must be greater than zero");
+        this.pageSize = () -> pageSize;
+    }
+
+    /**
+     * Sets page size supplier. the page size is evaluated before every page,
+     * so it can follow an adaptive chunk size.
+     *
+     * @param pageSize the page size supplier
+     */
+    public void setPageSizeSupplier(IntSupplier pageSize) {
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * Sets jpa property map.
+     *
+     * @param jpaPropertyMap the jpa property map
+     */
+    public void setJpaPropertyMap(Map<String, Object> jpaPropertyMap) {
+        this.jpaPropertyMap.clear();
+        this.jpaPropertyMap.putAll(jpaPropertyMap);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        Assert.notNull(entityManagerFactory, "EntityManagerFactory is required");
+        Assert.notNull(entityClass, "Entity class is required");
+        Assert.hasText(keyAttribute, "Key attribute is required");
+        Assert.notNull(keyExtractor, "Key extractor is required");
+        Assert.notNull(pageSize, "Page size is required");
+    }
+
+    @Override
+    public void open(ExecutionContext executionContext) throws ItemStreamException {
+        lastKey = null;
+        if (isSaveState() && executionContext.containsKey(getExecutionContextKey(LAST_KEY))) {
+            lastKey = executionContext.getString(getExecutionContextKey(LAST_KEY));
+        }
+        super.open(executionContext);
+    }
+
+    @Override
+    public void update(ExecutionContext executionContext) throws ItemStreamException {
+        super.update(executionContext);
+        if (isSaveState() && lastKey != null) {
+            executionContext.putString(getExecutionContextKey(LAST_KEY), lastKey);
+        }
+    }
+
+    @Override
+    protected void doOpen() {
+        entityManager = entityManagerFactory.createEntityManager(jpaPropertyMap);
+        if (entityManager == null) {
+            throw new DataAccessResourceFailureException("Unable to obtain an EntityManager");
+        }
+        final String entityName = entityManagerFactory.getMetamodel().entity(entityClass).getName();
+        firstPageQuery = queryString(entityName, false);
+        nextPageQuery = queryString(entityName, true);
+        page = Collections.emptyIterator();
+        exhausted = false;
+    }
+
+    @Override
+    protected T doRead() {
+        synchronized (lock) {
+            if (!page.hasNext()) {
+                if (exhausted) {
+                    return null;
+                }
+                fetchNextPage();
+                if (!page.hasNext()) {
+                    return null;
+                }
+            }
+            T item = page.next();
+            lastKey = keyExtractor.apply(item);
+            return item;
+        }
+    }
+
+    /**
+     * Checkpoint. saves the key of the item as the restart position, for a reader
+     * that consumes this one ahead of the step (e.g. a prefetch queue).
+     *
+     * @param executionContext the execution context
+     * @param item             the last consumed item
+     */
+    public void checkpoint(ExecutionContext executionContext, T item) {
+        if (isSaveState()) {
+            executionContext.putString(getExecutionContextKey(LAST_KEY), keyExtractor.apply(item));
+        }
+    }
+
+    /**
+     * restart position is restored from the last key, so there is nothing to skip.
+     */
+    @Override
+    protected void jumpToItem(int itemIndex) {}
+
+    @Override
+    protected void doClose() {
+        if (entityManager != null) {
+            entityManager.close();
+            entityManager = null;
+        }
+        page = Collections.emptyIterator();
+        exhausted = false;
+        lastKey = null;
+    }
+
+    private void fetchNextPage() {
+        entityManager.clear();
+        final boolean firstPage = lastKey == null;
+        final int size = Math.max(1, pageSize.getAsInt());
+        final TypedQuery<T> query = entityManager.createQuery(firstPage ? firstPageQuery : nextPageQuery, entityClass)
+                .setHint(HINT_READONLY, true)
+                .setMaxResults(size);
+        if (!firstPage) {
+            query.setParameter("lastKey", lastKey);
+        } else if (startKey != null) {
+            query.setParameter("startKey", startKey);
+        }
+        if (endKey != null) {
+            query.setParameter("endKey", endKey);
+        }
+        final List<T> results = query.getResultList();
+        exhausted = results.size() < size;
+        page = results.iterator();
+    }
+
+    private String queryString(String entityName, boolean afterLastKey) {
+        final String key = ALIAS + "." + keyAttribute;
+        final StringBuilder query = new StringBuilder();
+        query.append("select ").append(ALIAS).append(" from ").append(entityName).append(" ").append(ALIAS).append(" where 1 = 1");
+        if (afterLastKey) {
+            query.append(" and ").append(key).append(" > :lastKey");
+        } else if (startKey != null) {
+            query.append(" and ").append(key).append(" >= :startKey");
+        }
+        if (endKey != null) {
+            query.append(" and ").append(key).append(endInclusive ? " <= " : " < ").append(":endKey");
+        }
+        query.append(" order by ").append(key).append(" asc");
+        return query.toString();
+    }
+}
@@ -0,0 +1,157 @@
+package com.minseok.batch.reader;
+
+import org.springframework.util.Assert;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.function.Function;
+import java.util.function.IntSupplier;
+
+/**
+ * package      : com.minseok.batch.reader
+ * class        : KeysetPagingItemReaderBuilder
+ * author       : blenderkims
+ * date         : 2026/10/18
+ * description  :
+ */
+public class KeysetPagingItemReaderBuilder<T> {
+    private String name;
+    private boolean saveState = true;
+    private EntityManagerFactory entityManagerFactory;
+    private Class<T> entityClass;
+    private String keyAttribute = "id";
+    private Function<T, String> keyExtractor;
+    private String startKey;
+    private String endKey;
+    private boolean endInclusive;
+    private IntSupplier pageSize = () -> 10;
+
+    /**
+     * Name keyset paging item reader builder.
+     *
+     * @param name the name
+     * @return the keyset paging item reader builder
+     */
+    public KeysetPagingItemReaderBuilder<T> name(String name) {
+        this.name = name;
+        return this;
+    }
+
+    /**
+     * Save state keyset paging item reader builder.
+     *
+     * @param saveState the save state
+     * @return the keyset paging item reader builder
+     */
+    public KeysetPagingItemReaderBuilder<T> saveState(boolean saveState) {
+        this.saveState = saveState;
+        return this;
+    }
+
+    /**
+     * Entity manager factory keyset paging item reader builder.
+     *
+     * @param entityManagerFactory the entity manager factory
+     * @return the keyset paging item reader builder
+     */
+    public KeysetPagingItemReaderBuilder<T> entityManagerFactory(EntityManagerFactory entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+        return this;
+    }
+
+    /**
+     * Entity class keyset paging item reader builder.
+     *
+     * @param entityClass the entity class
+     * @return the keyset paging item reader builder
+     */
+    public KeysetPagingItemReaderBuilder<T> entityClass(Class<T> entityClass) {
+        this.entityClass = entityClass;
+        return this;
+    }
+
+    /**
+     * Key keyset paging item reader builder.
+     *
+     * @param keyAttribute the key attribute
+     * @param keyExtractor the key extractor
+     * @return the keyset paging item reader builder
+     */
+    public KeysetPagingItemReaderBuilder<T> key(String keyAttribute, Function<T, String> keyExtractor) {
+        this.keyAttribute = keyAttribute;
+        this.keyExtractor = keyExtractor;
+        return this;
+    }
+
+    /**
+     * Start key keyset paging item reader builder.
+     *
+     * @param startKey the start key (inclusive)
+     * @return the keyset paging item reader builder
+     */
+    public KeysetPagingItemReaderBuilder<T> startKey(String startKey) {
+        this.startKey = startKey;
+        return this;
+    }
+
+    /**
+     * End key keyset paging item reader builder.
+     *
+     * @param endKey       the end key
+     * @param endInclusive the end inclusive
+     * @return the keyset paging item reader builder
+     */
+    public KeysetPagingItemReaderBuilder<T> endKey(String endKey, boolean endInclusive) {
+        this.endKey = endKey;
+        this.endInclusive = endInclusive;
+        return this;
+    }
+
+    /**
+     * Page size keyset paging item reader builder.
+     *
+     * @param pageSize the page size
+     * @return the keyset paging item reader builder
+     */
+    public KeysetPagingItemReaderBuilder<T> pageSize(int pageSize) {
+        Assert.isTrue(pageSize > 0, "Page size must be greater than zero");
+        this.pageSize = () -> pageSize;
+        return this;
+    }
+
+    /**
+     * Page size keyset paging item reader builder.
+     *
+     * @param pageSize the page size supplier (evaluated per page)
+     * @return the keyset paging item reader builder
+     */
+    public KeysetPagingItemReaderBuilder<T> pageSize(IntSupplier pageSize) {
+        this.pageSize = pageSize;
+        return this;
+    }
+
+    /**
+     * Build keyset paging item reader.
+     *
+     * @return the keyset paging item reader
+     */
+    public KeysetPagingItemReader<T> build() {
+        if (saveState) {
+            Assert.hasText(name, "A name is required when saveState is set to true");
+        }
+        final KeysetPagingItemReader<T> reader = new KeysetPagingItemReader<>();
+        if (name != null) {
+            reader.setName(name);
+        }
+        reader.setSaveState(saveState);
+        reader.setEntityManagerFactory(entityManagerFactory);
+        reader.setEntityClass(entityClass);
+        reader.setKeyAttribute(keyAttribute);
+        reader.setKeyExtractor(keyExtractor);
+        reader.setStartKey(startKey);
+        reader.setEndKey(endKey);
+        reader.setEndInclusive(endInclusive);
+        reader.setPageSizeSupplier(pageSize);
+        reader.afterPropertiesSet();
+        return reader;
+    }
+}
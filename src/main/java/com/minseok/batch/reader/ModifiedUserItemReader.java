@@ -0,0 +1,173 @@
+package com.minseok.batch.reader;
+
+import com.minseok.batch.entity.User;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamException;
+import org.springframework.batch.item.support.AbstractItemCountingItemStreamItemReader;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.TypedQuery;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * package      : com.minseok.batch.reader
+ * class        : ModifiedUserItemReader
+ * author       : blenderkims
+ * date         : 2026/10/18
+ * description  : reads the users modified after a (modifiedAt, id) watermark in keyset order.
+ *                the read starts overlap before the watermark: modifiedAt is set by the application before
+ *                the commit, so a transaction that commits after a sync can carry a modifiedAt behind its
+ *                watermark (replica lag widens the gap). the rows of the overlap are read and upserted again.
+ *                the restart position is the last read key, the watermark keys keep the newest key seen,
+ *                never older than the watermark the run started from, and become the watermark of the next
+ *                run once promoted to the job.
+ */
+public class ModifiedUserItemReader extends AbstractItemCountingItemStreamItemReader<User> {
+    /**
+     * The constant WATERMARK_MODIFIED_AT.
+     */
+    public static final String WATERMARK_MODIFIED_AT = "watermark.modifiedAt";
+    /**
+     * The constant WATERMARK_ID.
+     */
+    public static final String WATERMARK_ID = "watermark.id";
+    private static final String POSITION_MODIFIED_AT = "position.modifiedAt";
+    private static final String POSITION_ID = "position.id";
+    private static final String FIRST_PAGE_QUERY = "select u from User u where u.modifiedAt is not null"
+            + " order by u.modifiedAt asc, u.id asc";
+    private static final String NEXT_PAGE_QUERY = "select u from User u"
+            + " where u.modifiedAt > :modifiedAt or (u.modifiedAt = :modifiedAt and u.id > :id)"
+            + " order by u.modifiedAt asc, u.id asc";
+    private final EntityManagerFactory entityManagerFactory;
+    private final int pageSize;
+    private final LocalDateTime fromModifiedAt;
+    private final String fromId;
+    private final Duration overlap;
+    private EntityManager entityManager;
+    private Iterator<User> page = Collections.emptyIterator();
+    private boolean exhausted;
+    private LocalDateTime lastModifiedAt;
+    private String lastId;
+    private LocalDateTime watermarkModifiedAt;
+    private String watermarkId;
+
+    /**
+     * Instantiates a new Modified user item reader.
+     *
+     * @param entityManagerFactory the entity manager factory
+     * @param pageSize             the page size
+     * @param fromModifiedAt       the watermark modified at (nullable: read every user)
+     * @param fromId               the watermark id
+     * @param overlap              the overlap read again before the watermark
+     */
+    public ModifiedUserItemReader(EntityManagerFactory entityManagerFactory, int pageSize, LocalDateTime fromModifiedAt, String fromId
+            , Duration overlap) {
+        Assert.notNull(entityManagerFactory, "EntityManagerFactory is required");
+        Assert.isTrue(pageSize > 0, "Page size must be greater than zero");
+        Assert.isTrue(overlap != null && !overlap.isNegative(), "Overlap must not be negative");
+        this.entityManagerFactory = entityManagerFactory;
+        this.pageSize = pageSize;
+        this.fromModifiedAt = fromModifiedAt;
+        this.fromId = fromId == null ? "" : fromId;
+        this.overlap = overlap;
+        setName(ClassUtils.getShortName(ModifiedUserItemReader.class));
+    }
+
+    @Override
+    public void open(ExecutionContext executionContext) throws ItemStreamException {
+        watermarkModifiedAt = fromModifiedAt;
+        watermarkId = fromId;
+        lastModifiedAt = fromModifiedAt == null ? null : fromModifiedAt.minus(overlap);
+        lastId = "";
+        if (isSaveState() && executionContext.containsKey(getExecutionContextKey(POSITION_MODIFIED_AT))) {
+            lastModifiedAt = LocalDateTime.parse(executionContext.getString(getExecutionContextKey(POSITION_MODIFIED_AT)));
+            lastId = executionContext.getString(getExecutionContextKey(POSITION_ID));
+            watermarkModifiedAt = LocalDateTime.parse(executionContext.getString(WATERMARK_MODIFIED_AT));
+            watermarkId = executionContext.getString(WATERMARK_ID);
+        }
+        super.open(executionContext);
+    }
+
+    @Override
+    public void update(ExecutionContext executionContext) throws ItemStreamException {
+        super.update(executionContext);
+        if (isSaveState() && lastModifiedAt != null) {
+            executionContext.putString(getExecutionContextKey(POSITION_MODIFIED_AT), lastModifiedAt.toString());
+            executionContext.putString(getExecutionContextKey(POSITION_ID), lastId);
+        }
+        if (isSaveState() && watermarkModifiedAt != null) {
+            executionContext.putString(WATERMARK_MODIFIED_AT, watermarkModifiedAt.toString());
+            executionContext.putString(WATERMARK_ID, watermarkId);
+        }
+    }
+
+    @Override
+    protected void doOpen() {
+        entityManager = entityManagerFactory.createEntityManager();
+        if (entityManager == null) {
+            throw new DataAccessResourceFailureException("Unable to obtain an EntityManager");
+        }
+        page = Collections.emptyIterator();
+        exhausted = false;
+    }
+
+    @Override
+    protected User doRead() {
+        if (!page.hasNext()) {
+            if (exhausted) {
+                return null;
+            }
+            fetchNextPage();
+            if (!page.hasNext()) {
+                return null;
+            }
+        }
+        final User user = page.next();
+        lastModifiedAt = user.getModifiedAt();
+        lastId = user.getId();
+        if (watermarkModifiedAt == null || lastModifiedAt.isAfter(watermarkModifiedAt)
+                || (lastModifiedAt.isEqual(watermarkModifiedAt) && lastId.compareTo(watermarkId) > 0)) {
+            watermarkModifiedAt = lastModifiedAt;
+            watermarkId = lastId;
+        }
+        return user;
+    }
+
+    /**
+     * restart position is restored from the last read key, so there is nothing to skip.
+     */
+    @Override
+    protected void jumpToItem(int itemIndex) {}
+
+    @Override
+    protected void doClose() {
+        if (entityManager != null) {
+            entityManager.close();
+            entityManager = null;
+        }
+        page = Collections.emptyIterator();
+    }
+
+    private void fetchNextPage() {
+        entityManager.clear();
+        final TypedQuery<User> query;
+        if (lastModifiedAt == null) {
+            query = entityManager.createQuery(FIRST_PAGE_QUERY, User.class);
+        } else {
+            query = entityManager.createQuery(NEXT_PAGE_QUERY, User.class)
+                    .setParameter("modifiedAt", lastModifiedAt)
+                    .setParameter("id", lastId);
+        }
+        final List<User> results = query.setMaxResults(pageSize).getResultList();
+        exhausted = results.size() < pageSize;
+        page = results.iterator();
+    }
+}
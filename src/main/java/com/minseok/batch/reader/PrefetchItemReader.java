@@ -0,0 +1,150 @@
+package com.minseok.batch.reader;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamException;
+import org.springframework.batch.item.ItemStreamReader;
+import org.springframework.batch.item.NonTransientResourceException;
+import org.springframework.util.Assert;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.function.BiConsumer;
+
+/**
+ * package      : com.minseok.batch.reader
+ * class        : PrefetchItemReader
+ * author       : blenderkims
+ * date         : 2026/10/18
+ * description  : thread-safe reader. a single producer thread reads the delegate
+ *                in order and hands items off through a bounded queue, so any
+ *                number of worker threads can consume it without duplicates or
+ *                skips while the delegate keeps fetching the next page.
+ *                the delegate runs ahead of the consumers, so its own state is never saved.
+ *                with a checkpoint, the restart position of the last consumed item is saved instead.
+ */
+@Slf4j
+public class PrefetchItemReader<T> implements ItemStreamReader<T> {
+    private static final Object END = new Object();
+    private final ItemStreamReader<T> delegate;
+    private final int capacity;
+    private final String name;
+    private BlockingQueue<Object> queue;
+    private Thread producer;
+    private volatile Throwable failure;
+    private volatile boolean finished;
+    private volatile boolean closing;
+    private volatile T lastConsumed;
+    private BiConsumer<ExecutionContext, T> checkpoint;
+
+    /**
+     * Instantiates a new Prefetch item reader.
+     *
+     * @param name     the name
+     * @param delegate the delegate
+     * @param capacity the queue capacity
+     */
+    public PrefetchItemReader(String name, ItemStreamReader<T> delegate, int capacity) {
+        Assert.hasText(name, "A name is required");
+        Assert.notNull(delegate, "A delegate reader is required");
+        Assert.isTrue(capacity > 0, "Capacity must be greater than zero");
+        this.name = name;
+        this.delegate = delegate;
+        this.capacity = capacity;
+    }
+
+    /**
+     * Sets checkpoint. it saves the restart position of the last consumed item in the execution context,
+     * e.g. {@link KeysetPagingItemReader#checkpoint(ExecutionContext, Object)}. only valid for a single consumer.
+     *
+     * @param checkpoint the checkpoint
+     */
+    public void setCheckpoint(BiConsumer<ExecutionContext, T> checkpoint) {
+        this.checkpoint = checkpoint;
+    }
+
+    @Override
+    public void open(ExecutionContext executionContext) throws ItemStreamException {
+        delegate.open(executionContext);
+        queue = new ArrayBlockingQueue<>(capacity);
+        failure = null;
+        finished = false;
+        closing = false;
+        lastConsumed = null;
+        producer = new Thread(this::produce, name + "-producer");
+        producer.setDaemon(true);
+        producer.start();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T read() throws Exception {
+        if (finished) {
+            return end();
+        }
+        final Object item = queue.take();
+        if (item == END) {
+            finished = true;
+            // leave the marker for the other consumers
+            queue.put(END);
+            return end();
+        }
+        lastConsumed = (T) item;
+        return lastConsumed;
+    }
+
+    private T end() {
+        // every consumer sees the failure of the producer, not only the one that took the end marker
+        if (failure != null) {
+            throw new NonTransientResourceException("Prefetch producer failed", failure);
+        }
+        return null;
+    }
+
+    @Override
+    public void update(ExecutionContext executionContext) throws ItemStreamException {
+        if (checkpoint != null && lastConsumed != null) {
+            checkpoint.accept(executionContext, lastConsumed);
+        }
+    }
+
+    @Override
+    public void close() throws ItemStreamException {
+        if (producer != null) {
+            closing = true;
+            producer.interrupt();
+            try {
+                producer.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            producer = null;
+        }
+        delegate.close();
+    }
+
+    private void produce() {
+        try {
+            T item;
+            while ((item = delegate.read()) != null) {
+                queue.put(item);
+            }
+        } catch (InterruptedException e) {
+            log.debug("[{}] producer interrupted", name);
+            return;
+        } catch (Throwable e) {
+            if (closing) {
+                // an interrupted jdbc/hibernate read does not throw InterruptedException
+                log.debug("[{}] producer stopped on close: {}", name, e.toString());
+                return;
+            }
+            log.error("[{}] producer failed", name, e);
+            failure = e;
+        }
+        try {
+            queue.put(END);
+        } catch (InterruptedException e) {
+            log.debug("[{}] producer interrupted", name);
+        }
+    }
+}
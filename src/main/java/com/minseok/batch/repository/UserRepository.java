@@ -1,11 +1,17 @@
 package com.minseok.batch.repository;
 
 import com.minseok.batch.entity.User;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import javax.persistence.QueryHint;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
 
 /**
  * package      : com.minseok.batch.repository
@@ -33,11 +39,33 @@ public interface UserRepository extends JpaRepository<User, String> {
     String findMaxId();
 
     /**
-     * Find ids by pageable list.
+     * Find top by modified at not null order by modified at desc id desc optional.
+     *
+     * @return the optional
+     */
+    Optional<User> findTopByModifiedAtNotNullOrderByModifiedAtDescIdDesc();
+
+    /**
+     * Find ntile boundaries list.
+     * the first id of each ntile bucket plus the max id, in a single pass. union drops the max id
+     * when it is already the first id of a single row bucket (grid size greater than the row count).
      *
-     * @param pageable the pageable
+     * @param gridSize the grid size
      * @return the list
      */
-    @Query("select u.id from User u")
-    List<String> findIdsByPageable(Pageable pageable);
-}
\ No newline at end of file
+    @Query(value = "select b.id from ("
+            + " select min(t.id) as id from (select u.id, ntile(:gridSize) over (order by u.id) as bucket from tb_user u) t group by t.bucket"
+            + " union"
+            + " select max(u.id) as id from tb_user u"
+            + ") b where b.id is not null order by b.id", nativeQuery = true)
+    List<String> findNtileBoundaries(@Param("gridSize") int gridSize);
+
+    /**
+     * Stream all ids stream. (must be consumed in a transaction)
+     *
+     * @return the stream
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query("select u.id from User u order by u.id asc")
+    Stream<String> streamAllIds();
+}
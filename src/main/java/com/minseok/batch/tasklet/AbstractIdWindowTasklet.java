@@ -0,0 +1,165 @@
+package com.minseok.batch.tasklet;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.util.Assert;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Query;
+
+/**
+ * package      : com.minseok.batch.tasklet
+ * class        : AbstractIdWindowTasklet
+ * author       : blenderkims
+ * date         : 2026/10/18
+ * description  : walks a partition id range in bounded windows of the window table.
+ *                each window runs in its own transaction (one tasklet iteration) and the
+ *                last processed id is kept in the step execution context for restart.
+ */
+@Slf4j
+public abstract class AbstractIdWindowTasklet implements Tasklet {
+    private static final String LAST_ID = "lastId";
+    /**
+     * The Entity manager factory.
+     */
+    protected final EntityManagerFactory entityManagerFactory;
+    private final String windowTable;
+    private final String startId;
+    private final String endId;
+    private final boolean endInclusive;
+    private final int windowSize;
+
+    /**
+     * Instantiates a new Abstract id window tasklet.
+     *
+     * @param entityManagerFactory the entity manager factory
+     * @param windowTable          the table whose ids define the windows
+     * @param startId              the start id (inclusive, nullable)
+     * @param endId                the end id (nullable)
+     * @param endInclusive         the end inclusive
+     * @param windowSize           the window size
+     */
+    protected AbstractIdWindowTasklet(EntityManagerFactory entityManagerFactory, String windowTable
+            , String startId, String endId, boolean endInclusive, int windowSize) {
+        Assert.notNull(entityManagerFactory, "EntityManagerFactory is required");
+        Assert.hasText(windowTable, "A window table is required");
+        Assert.isTrue(windowSize > 0, "Window size must be greater than zero");
+        this.entityManagerFactory = entityManagerFactory;
+        this.windowTable = windowTable;
+        this.startId = startId;
+        this.endId = endId;
+        this.endInclusive = endInclusive;
+        this.windowSize = windowSize;
+    }
+
+    @Override
+    public RepeatStatus execute(StepContribution contribution, ChunkContext chunkContext) throws Exception {
+        final ExecutionContext executionContext = chunkContext.getStepContext().getStepExecution().getExecutionContext();
+        final String lastId = executionContext.containsKey(LAST_ID) ? executionContext.getString(LAST_ID) : null;
+        final EntityManager entityManager = EntityManagerFactoryUtils.getTransactionalEntityManager(entityManagerFactory);
+        final Window window = nextWindow(entityManager, lastId);
+        if (window.getCount() == 0) {
+            return RepeatStatus.FINISHED;
+        }
+        process(entityManager, window, contribution);
+        executionContext.putString(LAST_ID, window.getUpperId());
+        log.debug("[window: {}] lower id: {}, upper id: {}, count: {}", windowTable, window.getLowerId(), window.getUpperId(), window.getCount());
+        return window.getCount() < windowSize ? RepeatStatus.FINISHED : RepeatStatus.CONTINUABLE;
+    }
+
+    /**
+     * Process the window.
+     *
+     * @param entityManager the transactional entity manager
+     * @param window        the window
+     * @param contribution  the contribution
+     */
+    protected abstract void process(EntityManager entityManager, Window window, StepContribution contribution);
+
+    /**
+     * Increment read count.
+     *
+     * @param contribution the contribution
+     * @param count        the count
+     */
+    protected void incrementReadCount(StepContribution contribution, int count) {
+        for (int i = 0; i < count; i++) {
+            contribution.incrementReadCount();
+        }
+    }
+
+    private Window nextWindow(EntityManager entityManager, String lastId) {
+        final Window bounds = new Window(lastId == null ? startId : lastId, lastId == null, null, 0);
+        final StringBuilder sql = new StringBuilder();
+        sql.append("select count(*), max(w.id) from (select t.id from ").append(windowTable).append(" t where 1 = 1");
+        if (bounds.getLowerId() != null) {
+            sql.append(" and t.id ").append(bounds.isLowerInclusive() ? ">=" : ">").append(" :lowerId");
+        }
+        if (endId != null) {
+            sql.append(" and t.id ").append(endInclusive ? "<=" : "<").append(" :endId");
+        }
+        sql.append(" order by t.id limit ").append(windowSize).append(") w");
+        final Query query = entityManager.createNativeQuery(sql.toString());
+        if (bounds.getLowerId() != null) {
+            query.setParameter("lowerId", bounds.getLowerId());
+        }
+        if (endId != null) {
+            query.setParameter("endId", endId);
+        }
+        final Object[] row = (Object[]) query.getSingleResult();
+        final int count = ((Number) row[0]).intValue();
+        return new Window(bounds.getLowerId(), bounds.isLowerInclusive(), (String) row[1], count);
+    }
+
+    /**
+     * id window. (lower id, upper id] or [lower id, upper id] for the first window
+     */
+    @Getter
+    public static class Window {
+        private final String lowerId;
+        private final boolean lowerInclusive;
+        private final String upperId;
+        private final int count;
+
+        private Window(String lowerId, boolean lowerInclusive, String upperId, int count) {
+            this.lowerId = lowerId;
+            this.lowerInclusive = lowerInclusive;
+            this.upperId = upperId;
+            this.count = count;
+        }
+
+        /**
+         * Predicate string.
+         *
+         * @param column the id column
+         * @return the predicate
+         */
+        public String predicate(String column) {
+            final StringBuilder predicate = new StringBuilder();
+            if (lowerId != null) {
+                predicate.append(column).append(lowerInclusive ? " >= " : " > ").append(":windowLowerId and ");
+            }
+            return predicate.append(column).append(" <= :windowUpperId").toString();
+        }
+
+        /**
+         * Bind query.
+         *
+         * @param query the query
+         * @return the query
+         */
+        public Query bind(Query query) {
+            if (lowerId != null) {
+                query.setParameter("windowLowerId", lowerId);
+            }
+            return query.setParameter("windowUpperId", upperId);
+        }
+    }
+}
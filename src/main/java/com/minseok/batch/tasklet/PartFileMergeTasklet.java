@@ -0,0 +1,160 @@
+package com.minseok.batch.tasklet;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.core.explore.JobExplorer;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.util.Assert;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
+
+/**
+ * package      : com.minseok.batch.tasklet
+ * class        : PartFileMergeTasklet
+ * author       : blenderkims
+ * date         : 2026/10/18
+ * description  : concatenates the part files written by each partition into the target file
+ *                in partition order. the parts are copied with zero-copy transferTo.
+ *                the header is written as already encoded bytes, so it can be a compressed block.
+ *                the partitions are collected from every execution of the job instance, so a restart that
+ *                only re-ran some of them still merges all, and a missing part file fails the step.
+ *                the parts are deleted after the step, only when it is COMPLETED, so a merge step that fails
+ *                after the merge (e.g. on its commit) can be restarted. the tasklet step registers the tasklet
+ *                as its step execution listener.
+ */
+@Slf4j
+public class PartFileMergeTasklet implements Tasklet, StepExecutionListener {
+    private final Path target;
+    private final byte[] header;
+    private final JobExplorer jobExplorer;
+    private final String partitionStepName;
+    private final IntFunction<Path> partFile;
+    private List<Path> merged = Collections.emptyList();
+
+    /**
+     * Instantiates a new Part file merge tasklet.
+     *
+     * @param target            the target file
+     * @param header            the header line (nullable)
+     * @param jobExplorer       the job explorer
+     * @param partitionStepName the partition step name
+     * @param partFile          the part file of partition number
+     */
+    public PartFileMergeTasklet(Path target, String header, JobExplorer jobExplorer, String partitionStepName, IntFunction<Path> partFile) {
+        this(target, header == null ? null : (header + System.lineSeparator()).getBytes(StandardCharsets.UTF_8)
+                , jobExplorer, partitionStepName, partFile);
+    }
+
+    /**
+     * Instantiates a new Part file merge tasklet.
+     *
+     * @param target            the target file
+     * @param header            the encoded header (nullable)
+     * @param jobExplorer       the job explorer
+     * @param partitionStepName the partition step name
+     * @param partFile          the part file of partition number
+     */
+    public PartFileMergeTasklet(Path target, byte[] header, JobExplorer jobExplorer, String partitionStepName, IntFunction<Path> partFile) {
+        Assert.notNull(target, "A target path is required");
+        Assert.notNull(jobExplorer, "A job explorer is required");
+        Assert.hasText(partitionStepName, "A partition step name is required");
+        Assert.notNull(partFile, "A part file function is required");
+        this.target = target;
+        this.header = header;
+        this.jobExplorer = jobExplorer;
+        this.partitionStepName = partitionStepName;
+        this.partFile = partFile;
+    }
+
+    @Override
+    public RepeatStatus execute(StepContribution contribution, ChunkContext chunkContext) throws Exception {
+        final List<Path> parts = partFiles(chunkContext.getStepContext().getStepExecution());
+        log.debug("[merge] {} part files to {}", parts.size(), target);
+        try (FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            if (header != null) {
+                final ByteBuffer buffer = ByteBuffer.wrap(header);
+                while (buffer.hasRemaining()) {
+                    out.write(buffer);
+                }
+            }
+            for (Path part : parts) {
+                transfer(part, out);
+            }
+            out.force(false);
+        }
+        merged = parts;
+        return RepeatStatus.FINISHED;
+    }
+
+    @Override
+    public void beforeStep(StepExecution stepExecution) {
+        merged = Collections.emptyList();
+    }
+
+    @Override
+    public ExitStatus afterStep(StepExecution stepExecution) {
+        if (stepExecution.getStatus() != BatchStatus.COMPLETED) {
+            log.debug("[merge] step is {}, {} part files are kept", stepExecution.getStatus(), merged.size());
+            return null;
+        }
+        for (Path part : merged) {
+            try {
+                Files.deleteIfExists(part);
+            } catch (IOException e) {
+                log.warn("[merge] failed to delete part file {}", part, e);
+            }
+        }
+        return null;
+    }
+
+    private List<Path> partFiles(StepExecution stepExecution) {
+        final List<Integer> partitionNumbers = jobExplorer.getJobExecutions(stepExecution.getJobExecution().getJobInstance()).stream()
+                .flatMap(jobExecution -> jobExecution.getStepExecutions().stream())
+                .filter(s -> s.getStepName().startsWith(partitionStepName + ":"))
+                .map(s -> s.getExecutionContext().getInt("partitionNumber"))
+                .distinct()
+                .sorted(Comparator.naturalOrder())
+                .collect(Collectors.toList());
+        if (partitionNumbers.isEmpty()) {
+            throw new IllegalStateException("no partition of " + partitionStepName + " found in job instance "
+                    + stepExecution.getJobExecution().getJobId());
+        }
+        final List<Path> parts = partitionNumbers.stream()
+                .map(partFile::apply)
+                .collect(Collectors.toList());
+        final List<Path> missing = parts.stream()
+                .filter(part -> !Files.exists(part))
+                .collect(Collectors.toList());
+        if (!missing.isEmpty()) {
+            throw new IllegalStateException("missing part files: " + missing);
+        }
+        return parts;
+    }
+
+    private void transfer(Path part, FileChannel out) throws IOException {
+        try (FileChannel in = FileChannel.open(part, StandardOpenOption.READ)) {
+            final long size = in.size();
+            long position = 0;
+            while (position < size) {
+                position += in.transferTo(position, size - position, out);
+            }
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.minseok.batch.tasklet;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * package      : com.minseok.batch.tasklet
+ * class        : StagingTableSwapTasklet
+ * author       : blenderkims
+ * date         : 2026/10/18
+ * description  : swaps a loaded staging table into the target with one atomic rename and drops the old rows.
+ *                a failed swap fails the step (and the job). the tasklet can run again after a crash:
+ *                a staging table that is already renamed only leaves the old table to drop.
+ */
+@Slf4j
+public class StagingTableSwapTasklet implements Tasklet {
+    private static final String TABLE_EXISTS = "select count(*) from information_schema.tables where table_schema = database() and table_name = ?";
+    private final JdbcTemplate jdbcTemplate;
+    private final String table;
+    private final String stagingTable;
+
+    /**
+     * Instantiates a new Staging table swap tasklet.
+     *
+     * @param jdbcTemplate the jdbc template
+     * @param table        the target table
+     * @param stagingTable the staging table
+     */
+    public StagingTableSwapTasklet(JdbcTemplate jdbcTemplate, String table, String stagingTable) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.table = table;
+        this.stagingTable = stagingTable;
+    }
+
+    @Override
+    public RepeatStatus execute(StepContribution contribution, ChunkContext chunkContext) {
+        final String oldTable = table + "_old";
+        if (exists(stagingTable)) {
+            jdbcTemplate.execute("drop table if exists " + oldTable);
+            jdbcTemplate.execute("rename table " + table + " to " + oldTable + ", " + stagingTable + " to " + table);
+            log.info("[staging] {} swapped into {}", stagingTable, table);
+        } else if (exists(oldTable)) {
+            log.warn("[staging] {} was already swapped into {} by the previous execution", stagingTable, table);
+        } else {
+            log.warn("[staging] neither {} nor {} exists, the swap already completed", stagingTable, oldTable);
+        }
+        jdbcTemplate.execute("drop table if exists " + oldTable);
+        return RepeatStatus.FINISHED;
+    }
+
+    private boolean exists(String tableName) {
+        final Integer count = jdbcTemplate.queryForObject(TABLE_EXISTS, Integer.class, tableName);
+        return count != null && count > 0;
+    }
+}
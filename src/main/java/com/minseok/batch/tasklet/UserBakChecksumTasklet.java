@@ -0,0 +1,238 @@
+package com.minseok.batch.tasklet;
+
+import com.minseok.batch.entity.UserBak;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.util.Assert;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Query;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * package      : com.minseok.batch.tasklet
+ * class        : UserBakChecksumTasklet
+ * author       : blenderkims
+ * date         : 2026/10/18
+ * description  : verifies tb_user_bak against tb_user in an id range without moving the rows out of the database.
+ *                both tables are reduced to (count, sum(crc32(row))) per range, an order independent digest
+ *                (sum instead of bit_xor: plain sql, and two equal rows do not cancel each other out).
+ *                a range whose digests differ is split into SPLIT_FAN_OUT sub ranges by a single ntile() pass over
+ *                the id index and every sub range is compared again, down to leaf ranges whose row checksums are
+ *                diffed by id. when the tables agree the whole range costs two aggregate scans (one per table),
+ *                every differing range adds one ntile pass and two aggregate scans per sub range.
+ *                the row content is UserBak.CONTENT_SQL, the same as the digest column. mismatches set the exit status MISMATCH.
+ */
+@Slf4j
+public class UserBakChecksumTasklet implements Tasklet {
+    /**
+     * The constant EXIT_CODE_MISMATCH.
+     */
+    public static final String EXIT_CODE_MISMATCH = "MISMATCH";
+    private static final int MAX_REPORTED_IDS = 100;
+    private static final int SPLIT_FAN_OUT = 16;
+    private static final String ROW_CHECKSUM = "crc32(" + UserBak.CONTENT_SQL + ")";
+    private static final String SOURCE_TABLE = "tb_user";
+    private static final String TARGET_TABLE = "tb_user_bak";
+    private final EntityManagerFactory entityManagerFactory;
+    private final String startId;
+    private final String endId;
+    private final boolean endInclusive;
+    private final int leafSize;
+
+    /**
+     * Instantiates a new User bak checksum tasklet.
+     *
+     * @param entityManagerFactory the entity manager factory
+     * @param startId              the start id (inclusive, nullable: no lower bound)
+     * @param endId                the end id (nullable: no upper bound)
+     * @param endInclusive         the end inclusive
+     * @param leafSize             the row count below which a differing range is diffed row by row
+     */
+    public UserBakChecksumTasklet(EntityManagerFactory entityManagerFactory, String startId, String endId, boolean endInclusive, int leafSize) {
+        Assert.notNull(entityManagerFactory, "EntityManagerFactory is required");
+        Assert.isTrue(leafSize > 0, "Leaf size must be greater than zero");
+        this.entityManagerFactory = entityManagerFactory;
+        this.startId = startId;
+        this.endId = endId;
+        this.endInclusive = endInclusive;
+        this.leafSize = leafSize;
+    }
+
+    @Override
+    public RepeatStatus execute(StepContribution contribution, ChunkContext chunkContext) throws Exception {
+        final EntityManager entityManager = EntityManagerFactoryUtils.getTransactionalEntityManager(entityManagerFactory);
+        final Deque<Range> ranges = new ArrayDeque<>();
+        ranges.push(new Range(startId, endId, endInclusive));
+        final List<String> mismatchedIds = new ArrayList<>();
+        long rows = 0;
+        long mismatches = 0;
+        int comparedRanges = 0;
+        while (!ranges.isEmpty()) {
+            final Range range = ranges.pop();
+            final Digest source = digest(entityManager, SOURCE_TABLE, range);
+            final Digest target = digest(entityManager, TARGET_TABLE, range);
+            comparedRanges++;
+            if (source.equals(target)) {
+                rows += source.count;
+                continue;
+            }
+            final Digest larger = source.count >= target.count ? source : target;
+            if (larger.count <= leafSize) {
+                final List<String> ids = diff(entityManager, range);
+                rows += larger.count;
+                mismatches += ids.size();
+                ids.stream().limit(MAX_REPORTED_IDS - mismatchedIds.size()).forEach(mismatchedIds::add);
+                continue;
+            }
+            final List<String> pivots = pivots(entityManager, larger == source ? SOURCE_TABLE : TARGET_TABLE, range);
+            // pushed from the last sub range, so they are compared in id order
+            String upperId = range.upperId;
+            boolean upperInclusive = range.upperInclusive;
+            for (int i = pivots.size() - 1; i >= 0; i--) {
+                ranges.push(new Range(pivots.get(i), upperId, upperInclusive));
+                upperId = pivots.get(i);
+                upperInclusive = false;
+            }
+            ranges.push(new Range(range.lowerId, upperId, upperInclusive));
+        }
+        final StepExecution stepExecution = chunkContext.getStepContext().getStepExecution();
+        final ExecutionContext executionContext = stepExecution.getExecutionContext();
+        executionContext.putLong("verify.rows", rows);
+        executionContext.putInt("verify.ranges", comparedRanges);
+        executionContext.putLong("verify.mismatches", mismatches);
+        if (mismatches > 0) {
+            executionContext.putString("verify.mismatchedIds", String.join(",", mismatchedIds));
+            stepExecution.setExitStatus(new ExitStatus(EXIT_CODE_MISMATCH, mismatches + " rows differ"));
+            log.warn("[verify] start id: {}, end id: {}, mismatches: {}, ids: {}", startId, endId, mismatches, mismatchedIds);
+        } else {
+            log.debug("[verify] start id: {}, end id: {}, rows: {}, ranges: {}", startId, endId, rows, comparedRanges);
+        }
+        return RepeatStatus.FINISHED;
+    }
+
+    private Digest digest(EntityManager entityManager, String table, Range range) {
+        final Query query = entityManager.createNativeQuery("select count(*), coalesce(sum(" + ROW_CHECKSUM + "), 0)"
+                + " from " + table + " t where " + range.predicate("t.id"));
+        final Object[] row = (Object[]) range.bind(query).getSingleResult();
+        return new Digest(((Number) row[0]).longValue(), ((Number) row[1]).longValue());
+    }
+
+    /**
+     * the first ids of the SPLIT_FAN_OUT ntile buckets of the range except the first one, ascending.
+     */
+    @SuppressWarnings("unchecked")
+    private List<String> pivots(EntityManager entityManager, String table, Range range) {
+        final Query query = entityManager.createNativeQuery("select min(b.id) from (select t.id, ntile(" + SPLIT_FAN_OUT + ") over (order by t.id) as bucket"
+                + " from " + table + " t where " + range.predicate("t.id") + ") b group by b.bucket order by 1");
+        final List<String> starts = range.bind(query).getResultList();
+        return starts.isEmpty() ? starts : starts.subList(1, starts.size());
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<String> diff(EntityManager entityManager, Range range) {
+        final String sql = "select t.id, " + ROW_CHECKSUM + " from %s t where " + range.predicate("t.id") + " order by t.id";
+        final List<Object[]> source = range.bind(entityManager.createNativeQuery(String.format(sql, SOURCE_TABLE))).getResultList();
+        final List<Object[]> target = range.bind(entityManager.createNativeQuery(String.format(sql, TARGET_TABLE))).getResultList();
+        final List<String> ids = new ArrayList<>();
+        int i = 0;
+        int j = 0;
+        while (i < source.size() || j < target.size()) {
+            final String sourceId = i < source.size() ? (String) source.get(i)[0] : null;
+            final String targetId = j < target.size() ? (String) target.get(j)[0] : null;
+            final int compare = sourceId == null ? 1 : targetId == null ? -1 : sourceId.compareTo(targetId);
+            if (compare < 0) {
+                ids.add(sourceId);
+                i++;
+            } else if (compare > 0) {
+                ids.add(targetId);
+                j++;
+            } else {
+                if (!Objects.equals(((Number) source.get(i)[1]).longValue(), ((Number) target.get(j)[1]).longValue())) {
+                    ids.add(sourceId);
+                }
+                i++;
+                j++;
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * id range. [lower id, upper id) or [lower id, upper id], an absent bound is open.
+     */
+    private static class Range {
+        private final String lowerId;
+        private final String upperId;
+        private final boolean upperInclusive;
+
+        private Range(String lowerId, String upperId, boolean upperInclusive) {
+            this.lowerId = lowerId;
+            this.upperId = upperId;
+            this.upperInclusive = upperInclusive;
+        }
+
+        private String predicate(String column) {
+            final StringBuilder predicate = new StringBuilder("1 = 1");
+            if (lowerId != null) {
+                predicate.append(" and ").append(column).append(" >= :lowerId");
+            }
+            if (upperId != null) {
+                predicate.append(" and ").append(column).append(upperInclusive ? " <= " : " < ").append(":upperId");
+            }
+            return predicate.toString();
+        }
+
+        private Query bind(Query query) {
+            if (lowerId != null) {
+                query.setParameter("lowerId", lowerId);
+            }
+            if (upperId != null) {
+                query.setParameter("upperId", upperId);
+            }
+            return query;
+        }
+    }
+
+    /**
+     * order independent digest of a range.
+     */
+    private static class Digest {
+        private final long count;
+        private final long checksum;
+
+        private Digest(long count, long checksum) {
+            this.count = count;
+            this.checksum = checksum;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Digest)) {
+                return false;
+            }
+            final Digest digest = (Digest) o;
+            return count == digest.count && checksum == digest.checksum;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(count, checksum);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.minseok.batch.tasklet;
+
+import com.minseok.batch.entity.UserBak;
+import org.springframework.batch.core.StepContribution;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+
+/**
+ * package      : com.minseok.batch.tasklet
+ * class        : UserBakInsertSelectTasklet
+ * author       : blenderkims
+ * date         : 2026/10/18
+ * description  : set-based tb_user to tb_user_bak merge. every window is copied inside the
+ *                database with a single insert ... select ... on duplicate key update.
+ */
+public class UserBakInsertSelectTasklet extends AbstractIdWindowTasklet {
+    private static final String INSERT_SELECT = "insert into tb_user_bak (id, email, password, name, nickname, mobile, created_at, modified_at, digest)"
+            + " select t.id, t.email, t.password, t.name, t.nickname, t.mobile, t.created_at, t.modified_at, " + UserBak.DIGEST_SQL
+            + " from tb_user t where %s"
+            + " on duplicate key update email = values(email), password = values(password), name = values(name), nickname = values(nickname)"
+            + ", mobile = values(mobile), created_at = values(created_at), modified_at = values(modified_at), digest = values(digest)";
+
+    /**
+     * Instantiates a new User bak insert select tasklet.
+     *
+     * @param entityManagerFactory the entity manager factory
+     * @param startId              the start id
+     * @param endId                the end id
+     * @param endInclusive         the end inclusive
+     * @param windowSize           the window size
+     */
+    public UserBakInsertSelectTasklet(EntityManagerFactory entityManagerFactory, String startId, String endId, boolean endInclusive, int windowSize) {
+        super(entityManagerFactory, "tb_user", startId, endId, endInclusive, windowSize);
+    }
+
+    @Override
+    protected void process(EntityManager entityManager, Window window, StepContribution contribution) {
+        window.bind(entityManager.createNativeQuery(String.format(INSERT_SELECT, window.predicate("t.id")))).executeUpdate();
+        incrementReadCount(contribution, window.getCount());
+        contribution.incrementWriteCount(window.getCount());
+    }
+}
@@ -0,0 +1,40 @@
+package com.minseok.batch.tasklet;
+
+import org.springframework.batch.core.StepContribution;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+
+/**
+ * package      : com.minseok.batch.tasklet
+ * class        : UserBakOrphanDeleteTasklet
+ * author       : blenderkims
+ * date         : 2026/10/18
+ * description  : deletes the tb_user_bak rows without a tb_user row, one bounded id window per transaction.
+ *                read count is the scanned rows, write count the deleted rows and filter count the kept rows.
+ */
+public class UserBakOrphanDeleteTasklet extends AbstractIdWindowTasklet {
+    private static final String DELETE_ORPHAN = "delete ub from tb_user_bak ub where %s"
+            + " and not exists(select 1 from tb_user u where u.id = ub.id)";
+
+    /**
+     * Instantiates a new User bak orphan delete tasklet.
+     *
+     * @param entityManagerFactory the entity manager factory
+     * @param startId              the start id (nullable: no lower bound)
+     * @param endId                the end id (nullable: no upper bound)
+     * @param endInclusive         the end inclusive
+     * @param windowSize           the window size
+     */
+    public UserBakOrphanDeleteTasklet(EntityManagerFactory entityManagerFactory, String startId, String endId, boolean endInclusive, int windowSize) {
+        super(entityManagerFactory, "tb_user_bak", startId, endId, endInclusive, windowSize);
+    }
+
+    @Override
+    protected void process(EntityManager entityManager, Window window, StepContribution contribution) {
+        final int deleted = window.bind(entityManager.createNativeQuery(String.format(DELETE_ORPHAN, window.predicate("ub.id")))).executeUpdate();
+        incrementReadCount(contribution, window.getCount());
+        contribution.incrementWriteCount(deleted);
+        contribution.incrementFilterCount(window.getCount() - deleted);
+    }
+}
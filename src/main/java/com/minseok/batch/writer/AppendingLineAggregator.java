@@ -0,0 +1,28 @@
+package com.minseok.batch.writer;
+
+import org.springframework.batch.item.file.transform.LineAggregator;
+
+/**
+ * package      : com.minseok.batch.writer
+ * class        : AppendingLineAggregator
+ * author       : blenderkims
+ * date         : 2026/10/18
+ * description  : line aggregator that can append the line straight into a caller owned buffer,
+ *                so writers that collect a whole chunk do not allocate a string per item.
+ */
+public interface AppendingLineAggregator<T> extends LineAggregator<T> {
+    /**
+     * Aggregate the item into the line.
+     *
+     * @param item the item
+     * @param line the line buffer to append to
+     */
+    void aggregate(T item, StringBuilder line);
+
+    @Override
+    default String aggregate(T item) {
+        final StringBuilder line = new StringBuilder();
+        aggregate(item, line);
+        return line.toString();
+    }
+}
@@ -0,0 +1,121 @@
+package com.minseok.batch.writer;
+
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamException;
+import org.springframework.batch.item.ItemStreamWriter;
+import org.springframework.batch.item.WriterNotOpenException;
+import org.springframework.batch.item.file.transform.LineAggregator;
+import org.springframework.batch.item.support.ItemStreamSupport;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * package      : com.minseok.batch.writer
+ * class        : CompressedLineItemWriter
+ * author       : blenderkims
+ * date         : 2026/10/18
+ * description  : writes aggregated lines through the streaming compression of the export format.
+ *                a compressed stream can not be truncated back to a commit point, so the file is
+ *                always rewritten from the start on open.
+ */
+public class CompressedLineItemWriter<T> extends ItemStreamSupport implements ItemStreamWriter<T> {
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private final Path path;
+    private final ExportFormat format;
+    private final LineAggregator<T> lineAggregator;
+    private final String header;
+    private final StringBuilder lines = new StringBuilder();
+    private String lineSeparator = System.lineSeparator();
+    private Writer writer;
+
+    /**
+     * Instantiates a new Compressed line item writer.
+     *
+     * @param path           the path
+     * @param format         the format
+     * @param lineAggregator the line aggregator
+     * @param header         the header line (nullable)
+     */
+    public CompressedLineItemWriter(Path path, ExportFormat format, LineAggregator<T> lineAggregator, String header) {
+        Assert.notNull(path, "A path is required");
+        Assert.notNull(format, "A format is required");
+        Assert.isTrue(format != ExportFormat.ARROW, "Arrow is not a line format");
+        Assert.notNull(lineAggregator, "A line aggregator is required");
+        this.path = path;
+        this.format = format;
+        this.lineAggregator = lineAggregator;
+        this.header = header;
+        setName(ClassUtils.getShortName(CompressedLineItemWriter.class));
+    }
+
+    /**
+     * Sets line separator.
+     *
+     * @param lineSeparator the line separator
+     */
+    public void setLineSeparator(String lineSeparator) {
+        this.lineSeparator = lineSeparator;
+    }
+
+    @Override
+    public void open(ExecutionContext executionContext) throws ItemStreamException {
+        super.open(executionContext);
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            writer = new OutputStreamWriter(format.wrap(new BufferedOutputStream(Files.newOutputStream(path), BUFFER_SIZE))
+                    , StandardCharsets.UTF_8);
+            if (header != null) {
+                writer.write(header);
+                writer.write(lineSeparator);
+            }
+        } catch (IOException e) {
+            throw new ItemStreamException("Failed to open compressed file: " + path, e);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void write(List<? extends T> items) throws Exception {
+        if (writer == null) {
+            throw new WriterNotOpenException("Writer must be open before it can be written to");
+        }
+        lines.setLength(0);
+        if (lineAggregator instanceof AppendingLineAggregator) {
+            final AppendingLineAggregator<T> appendingLineAggregator = (AppendingLineAggregator<T>) lineAggregator;
+            for (T item : items) {
+                appendingLineAggregator.aggregate(item, lines);
+                lines.append(lineSeparator);
+            }
+        } else {
+            for (T item : items) {
+                lines.append(lineAggregator.aggregate(item)).append(lineSeparator);
+            }
+        }
+        writer.append(lines);
+    }
+
+    @Override
+    public void close() throws ItemStreamException {
+        super.close();
+        if (writer != null) {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                throw new ItemStreamException("Failed to close compressed file: " + path, e);
+            } finally {
+                writer = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.minseok.batch.writer;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.scope.context.StepContext;
+import org.springframework.batch.core.scope.context.StepSynchronizationManager;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.classify.BinaryExceptionClassifier;
+import org.springframework.retry.RetryListener;
+import org.springframework.retry.backoff.BackOffPolicy;
+import org.springframework.retry.backoff.ExponentialRandomBackOffPolicy;
+import org.springframework.retry.policy.SimpleRetryPolicy;
+import org.springframework.retry.support.RetryTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.Assert;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * package      : com.minseok.batch.writer
+ * class        : ConflictIsolatingItemWriter
+ * author       : blenderkims
+ * date         : 2026/10/18
+ * description  : writes a chunk through the delegate in its own (requires new) transaction. when the write fails
+ *                with a conflict (optimistic lock, deadlock, lock wait), the items are split in halves and every
+ *                half is written again, so the clean rows are committed at once and only the conflicting rows
+ *                are retried one by one with jittered exponential backoff. conflicts are counted per id prefix
+ *                (hot-spot) in the step execution context as "prefix:count,...". the delegate has to be idempotent (upsert), because
+ *                the committed halves are written again if the chunk itself is retried or restarted.
+ *                every attempt holds a connection of its own next to the one of the chunk transaction.
+ */
+@Slf4j
+public class ConflictIsolatingItemWriter<T> implements ItemWriter<T> {
+    private static final String HOTSPOTS = "conflict.hotspots";
+    private static final String SPLITS = "conflict.splits";
+    private static final int HOTSPOT_PREFIX_LENGTH = 2;
+    private final ItemWriter<T> delegate;
+    private final TransactionTemplate transactionTemplate;
+    private final Function<T, String> keyExtractor;
+    private final BinaryExceptionClassifier conflictClassifier;
+    private final RetryTemplate retryTemplate = new RetryTemplate();
+    private final Map<String, Long> hotspots = new TreeMap<>();
+    private long splits;
+
+    /**
+     * Instantiates a new Conflict isolating item writer.
+     *
+     * @param delegate           the delegate (idempotent)
+     * @param transactionManager the transaction manager
+     * @param keyExtractor       the key extractor of the hot-spot report
+     * @param conflicts          the conflict exceptions (causes are inspected too)
+     * @param retryLimit         the attempts of a single conflicting item
+     */
+    public ConflictIsolatingItemWriter(ItemWriter<T> delegate, PlatformTransactionManager transactionManager
+            , Function<T, String> keyExtractor, Collection<Class<? extends Throwable>> conflicts, int retryLimit) {
+        Assert.notNull(delegate, "A delegate is required");
+        Assert.notNull(transactionManager, "A transaction manager is required");
+        Assert.notNull(keyExtractor, "A key extractor is required");
+        Assert.notEmpty(conflicts, "Conflict exceptions are required");
+        Assert.isTrue(retryLimit > 0, "Retry limit must be greater than zero");
+        this.delegate = delegate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.keyExtractor = keyExtractor;
+        this.conflictClassifier = new BinaryExceptionClassifier(conflicts, true);
+        this.conflictClassifier.setTraverseCauses(true);
+        final Map<Class<? extends Throwable>, Boolean> retryable = conflicts.stream()
+                .collect(Collectors.toMap(Function.identity(), conflict -> Boolean.TRUE));
+        this.retryTemplate.setRetryPolicy(new SimpleRetryPolicy(retryLimit, retryable, true));
+        this.retryTemplate.setBackOffPolicy(new ExponentialRandomBackOffPolicy());
+    }
+
+    /**
+     * Sets back off policy of the conflicting items. (default: exponential random back off)
+     *
+     * @param backOffPolicy the back off policy
+     */
+    public void setBackOffPolicy(BackOffPolicy backOffPolicy) {
+        retryTemplate.setBackOffPolicy(backOffPolicy);
+    }
+
+    /**
+     * Sets retry listeners of the conflicting items.
+     *
+     * @param listeners the listeners
+     */
+    public void setRetryListeners(RetryListener... listeners) {
+        retryTemplate.setListeners(listeners);
+    }
+
+    @Override
+    public void write(List<? extends T> items) throws Exception {
+        final Deque<List<? extends T>> parts = new ArrayDeque<>();
+        parts.push(items);
+        while (!parts.isEmpty()) {
+            final List<? extends T> part = parts.pop();
+            try {
+                writeInNewTransaction(part);
+            } catch (Exception e) {
+                if (!conflictClassifier.classify(e)) {
+                    throw e;
+                }
+                if (part.size() > 1) {
+                    splits++;
+                    report();
+                    final int half = part.size() / 2;
+                    parts.push(part.subList(half, part.size()));
+                    parts.push(part.subList(0, half));
+                    log.debug("[conflict] split {} items: {}", part.size(), e.getMessage());
+                } else {
+                    retry(part.get(0));
+                }
+            }
+        }
+    }
+
+    private void retry(T item) throws Exception {
+        final String key = keyExtractor.apply(item);
+        final String prefix = key.length() > HOTSPOT_PREFIX_LENGTH ? key.substring(0, HOTSPOT_PREFIX_LENGTH) : key;
+        final long conflicts = hotspots.merge(prefix, 1L, Long::sum);
+        report();
+        log.debug("[conflict] retry item: {} (id prefix {}: {} conflicts)", key, prefix, conflicts);
+        retryTemplate.execute(context -> {
+            writeInNewTransaction(Collections.singletonList(item));
+            return null;
+        });
+    }
+
+    private void writeInNewTransaction(List<? extends T> items) {
+        transactionTemplate.executeWithoutResult(status -> {
+            try {
+                delegate.write(items);
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new IllegalStateException("Failed to write items", e);
+            }
+        });
+    }
+
+    private void report() {
+        final StepContext stepContext = StepSynchronizationManager.getContext();
+        if (stepContext == null) {
+            return;
+        }
+        final ExecutionContext executionContext = stepContext.getStepExecution().getExecutionContext();
+        executionContext.putLong(SPLITS, splits);
+        executionContext.putString(HOTSPOTS, hotspots.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .map(hotspot -> hotspot.getKey() + ":" + hotspot.getValue())
+                .collect(Collectors.joining(",")));
+    }
+}
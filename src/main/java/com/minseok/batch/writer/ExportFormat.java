@@ -0,0 +1,90 @@
+package com.minseok.batch.writer;
+
+import com.github.luben.zstd.ZstdOutputStream;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * package      : com.minseok.batch.writer
+ * class        : ExportFormat
+ * author       : blenderkims
+ * date         : 2026/10/18
+ * description  : export file format. gzip and zstd are streaming compressed csv, arrow is the
+ *                columnar arrow ipc file format. gzip members and zstd frames may be concatenated,
+ *                so compressed part files can still be merged by plain file concatenation.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum ExportFormat {
+    /**
+     * Csv export format.
+     */
+    CSV("csv", true),
+    /**
+     * Gzip compressed csv export format.
+     */
+    GZIP("csv.gz", true),
+    /**
+     * Zstd compressed csv export format.
+     */
+    ZSTD("csv.zst", true),
+    /**
+     * Arrow ipc export format.
+     */
+    ARROW("arrow", false);
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private final String extension;
+    private final boolean concatenable;
+
+    /**
+     * Of export format. (default: csv)
+     *
+     * @param name the name
+     * @return the export format
+     */
+    public static ExportFormat of(String name) {
+        return name == null || name.isBlank() ? CSV : valueOf(name.trim().toUpperCase());
+    }
+
+    /**
+     * Wrap the output stream with the compression of the format.
+     *
+     * @param out the out
+     * @return the output stream
+     * @throws IOException the io exception
+     */
+    public OutputStream wrap(OutputStream out) throws IOException {
+        switch (this) {
+            case GZIP:
+                return new GZIPOutputStream(out, BUFFER_SIZE);
+            case ZSTD:
+                return new ZstdOutputStream(out);
+            default:
+                return out;
+        }
+    }
+
+    /**
+     * Encode the header line as a self-contained block of the format.
+     *
+     * @param header the header
+     * @return the encoded header
+     */
+    public byte[] header(String header) {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (OutputStream out = wrap(bytes)) {
+            out.write((header + System.lineSeparator()).getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+}
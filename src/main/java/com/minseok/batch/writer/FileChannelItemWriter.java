@@ -0,0 +1,183 @@
+package com.minseok.batch.writer;
+
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamException;
+import org.springframework.batch.item.ItemStreamWriter;
+import org.springframework.batch.item.WriterNotOpenException;
+import org.springframework.batch.item.file.transform.LineAggregator;
+import org.springframework.batch.item.support.ItemStreamSupport;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * package      : com.minseok.batch.writer
+ * class        : FileChannelItemWriter
+ * author       : blenderkims
+ * date         : 2026/10/18
+ * description  : writes aggregated lines to a file through a buffered nio file channel.
+ *                the channel position is saved on every commit and the file is truncated
+ *                back to it on restart.
+ */
+public class FileChannelItemWriter<T> extends ItemStreamSupport implements ItemStreamWriter<T> {
+    private static final String POSITION = "position";
+    private static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+    private final Path path;
+    private final LineAggregator<T> lineAggregator;
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder();
+    private final StringBuilder lines = new StringBuilder();
+    private final ByteBuffer buffer;
+    private String lineSeparator = System.lineSeparator();
+    private boolean saveState = true;
+    private FileChannel channel;
+
+    /**
+     * Instantiates a new File channel item writer.
+     *
+     * @param path           the path
+     * @param lineAggregator the line aggregator
+     */
+    public FileChannelItemWriter(Path path, LineAggregator<T> lineAggregator) {
+        this(path, lineAggregator, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Instantiates a new File channel item writer.
+     *
+     * @param path           the path
+     * @param lineAggregator the line aggregator
+     * @param bufferSize     the buffer size
+     */
+    public FileChannelItemWriter(Path path, LineAggregator<T> lineAggregator, int bufferSize) {
+        Assert.notNull(path, "A path is required");
+        Assert.notNull(lineAggregator, "A line aggregator is required");
+        Assert.isTrue(bufferSize > 0, "Buffer size must be greater than zero");
+        this.path = path;
+        this.lineAggregator = lineAggregator;
+        this.buffer = ByteBuffer.allocateDirect(bufferSize);
+        setName(ClassUtils.getShortName(FileChannelItemWriter.class));
+    }
+
+    /**
+     * Sets line separator.
+     *
+     * @param lineSeparator the line separator
+     */
+    public void setLineSeparator(String lineSeparator) {
+        this.lineSeparator = lineSeparator;
+    }
+
+    /**
+     * Sets save state.
+     *
+     * @param saveState the save state
+     */
+    public void setSaveState(boolean saveState) {
+        this.saveState = saveState;
+    }
+
+    @Override
+    public void open(ExecutionContext executionContext) throws ItemStreamException {
+        super.open(executionContext);
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            final String key = getExecutionContextKey(POSITION);
+            if (saveState && executionContext.containsKey(key)) {
+                final long position = executionContext.getLong(key);
+                channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                channel.truncate(position);
+                channel.position(position);
+            } else {
+                channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+            }
+        } catch (IOException e) {
+            throw new ItemStreamException("Failed to open file channel: " + path, e);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void write(List<? extends T> items) throws Exception {
+        if (channel == null) {
+            throw new WriterNotOpenException("Writer must be open before it can be written to");
+        }
+        lines.setLength(0);
+        if (lineAggregator instanceof AppendingLineAggregator) {
+            final AppendingLineAggregator<T> appendingLineAggregator = (AppendingLineAggregator<T>) lineAggregator;
+            for (T item : items) {
+                appendingLineAggregator.aggregate(item, lines);
+                lines.append(lineSeparator);
+            }
+        } else {
+            for (T item : items) {
+                lines.append(lineAggregator.aggregate(item)).append(lineSeparator);
+            }
+        }
+        writeChars(lines);
+    }
+
+    @Override
+    public void update(ExecutionContext executionContext) throws ItemStreamException {
+        super.update(executionContext);
+        if (saveState && channel != null) {
+            try {
+                executionContext.putLong(getExecutionContextKey(POSITION), channel.position());
+            } catch (IOException e) {
+                throw new ItemStreamException("Failed to read file channel position: " + path, e);
+            }
+        }
+    }
+
+    @Override
+    public void close() throws ItemStreamException {
+        super.close();
+        if (channel != null) {
+            try {
+                channel.force(false);
+                channel.close();
+            } catch (IOException e) {
+                throw new ItemStreamException("Failed to close file channel: " + path, e);
+            } finally {
+                channel = null;
+            }
+        }
+    }
+
+    private void writeChars(CharSequence chars) throws IOException {
+        final CharBuffer input = CharBuffer.wrap(chars);
+        encoder.reset();
+        CoderResult result = encoder.encode(input, buffer, true);
+        while (result.isOverflow()) {
+            flushBuffer();
+            result = encoder.encode(input, buffer, true);
+        }
+        if (result.isError()) {
+            result.throwException();
+        }
+        while (encoder.flush(buffer).isOverflow()) {
+            flushBuffer();
+        }
+        flushBuffer();
+    }
+
+    private void flushBuffer() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
@@ -0,0 +1,155 @@
+package com.minseok.batch.writer;
+
+import com.minseok.batch.entity.UserBak;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.TimeStampMicroVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.ipc.ArrowFileWriter;
+import org.apache.arrow.vector.types.TimeUnit;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.FieldType;
+import org.apache.arrow.vector.types.pojo.Schema;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamException;
+import org.springframework.batch.item.ItemStreamWriter;
+import org.springframework.batch.item.WriterNotOpenException;
+import org.springframework.batch.item.support.ItemStreamSupport;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * package      : com.minseok.batch.writer
+ * class        : UserBakArrowItemWriter
+ * author       : blenderkims
+ * date         : 2026/10/18
+ * description  : writes user bak to an arrow ipc file, one record batch per chunk.
+ *                the vectors are reused between chunks, so memory stays bounded by the chunk size.
+ *                date times are timestamp(microsecond) without time zone.
+ */
+public class UserBakArrowItemWriter extends ItemStreamSupport implements ItemStreamWriter<UserBak> {
+    private static final List<Function<UserBak, String>> TEXT_FIELDS = Arrays.asList(
+            UserBak::getId, UserBak::getEmail, UserBak::getPassword, UserBak::getName, UserBak::getNickname, UserBak::getMobile);
+    private static final Schema SCHEMA = new Schema(Arrays.asList(
+            text("id"), text("email"), text("password"), text("name"), text("nickname"), text("mobile")
+            , timestamp("createdAt"), timestamp("modifiedAt")));
+    private final Path path;
+    private BufferAllocator allocator;
+    private VectorSchemaRoot root;
+    private FileChannel channel;
+    private ArrowFileWriter writer;
+
+    /**
+     * Instantiates a new User bak arrow item writer.
+     *
+     * @param path the path
+     */
+    public UserBakArrowItemWriter(Path path) {
+        Assert.notNull(path, "A path is required");
+        this.path = path;
+        setName(ClassUtils.getShortName(UserBakArrowItemWriter.class));
+    }
+
+    @Override
+    public void open(ExecutionContext executionContext) throws ItemStreamException {
+        super.open(executionContext);
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            allocator = new RootAllocator();
+            root = VectorSchemaRoot.create(SCHEMA, allocator);
+            channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+            writer = new ArrowFileWriter(root, null, channel);
+            writer.start();
+        } catch (IOException e) {
+            close();
+            throw new ItemStreamException("Failed to open arrow file: " + path, e);
+        }
+    }
+
+    @Override
+    public void write(List<? extends UserBak> items) throws Exception {
+        if (writer == null) {
+            throw new WriterNotOpenException("Writer must be open before it can be written to");
+        }
+        root.allocateNew();
+        for (int column = 0; column < TEXT_FIELDS.size(); column++) {
+            final VarCharVector vector = (VarCharVector) root.getVector(column);
+            final Function<UserBak, String> field = TEXT_FIELDS.get(column);
+            for (int row = 0; row < items.size(); row++) {
+                final String value = field.apply(items.get(row));
+                if (value == null) {
+                    vector.setNull(row);
+                } else {
+                    vector.setSafe(row, value.getBytes(StandardCharsets.UTF_8));
+                }
+            }
+        }
+        final TimeStampMicroVector createdAt = (TimeStampMicroVector) root.getVector("createdAt");
+        final TimeStampMicroVector modifiedAt = (TimeStampMicroVector) root.getVector("modifiedAt");
+        for (int row = 0; row < items.size(); row++) {
+            setTimestamp(createdAt, row, items.get(row).getCreatedAt());
+            setTimestamp(modifiedAt, row, items.get(row).getModifiedAt());
+        }
+        root.setRowCount(items.size());
+        writer.writeBatch();
+    }
+
+    @Override
+    public void close() throws ItemStreamException {
+        super.close();
+        try {
+            if (writer != null) {
+                writer.end();
+                writer.close();
+            }
+            if (channel != null) {
+                channel.close();
+            }
+        } catch (IOException e) {
+            throw new ItemStreamException("Failed to close arrow file: " + path, e);
+        } finally {
+            writer = null;
+            channel = null;
+            if (root != null) {
+                root.close();
+                root = null;
+            }
+            if (allocator != null) {
+                allocator.close();
+                allocator = null;
+            }
+        }
+    }
+
+    private static void setTimestamp(TimeStampMicroVector vector, int row, LocalDateTime value) {
+        if (value == null) {
+            vector.setNull(row);
+        } else {
+            vector.setSafe(row, value.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + value.getNano() / 1_000);
+        }
+    }
+
+    private static Field text(String name) {
+        return new Field(name, FieldType.nullable(ArrowType.Utf8.INSTANCE), null);
+    }
+
+    private static Field timestamp(String name) {
+        return new Field(name, FieldType.nullable(new ArrowType.Timestamp(TimeUnit.MICROSECOND, null)), null);
+    }
+}
@@ -0,0 +1,115 @@
+package com.minseok.batch.writer;
+
+import com.minseok.batch.entity.UserBak;
+
+import java.time.LocalDateTime;
+
+/**
+ * package      : com.minseok.batch.writer
+ * class        : UserBakCsvLineAggregator
+ * author       : blenderkims
+ * date         : 2026/10/18
+ * description  : user bak csv line without reflection. fields are read through getters and appended
+ *                in header order, quoted only when they contain a delimiter, quote or line break (rfc 4180).
+ *                date times are written in the LocalDateTime#toString format without a formatter.
+ */
+public class UserBakCsvLineAggregator implements AppendingLineAggregator<UserBak> {
+    /**
+     * The constant HEADER.
+     */
+    public static final String HEADER = "id,email,password,name,nickname,mobile,createdAt,modifiedAt";
+    private static final char DELIMITER = ',';
+    private static final char QUOTE = '"';
+    private static final int LINE_CAPACITY = 256;
+    private final ThreadLocal<StringBuilder> line = ThreadLocal.withInitial(() -> new StringBuilder(LINE_CAPACITY));
+
+    @Override
+    public String aggregate(UserBak item) {
+        final StringBuilder builder = line.get();
+        builder.setLength(0);
+        aggregate(item, builder);
+        return builder.toString();
+    }
+
+    @Override
+    public void aggregate(UserBak item, StringBuilder line) {
+        appendText(line, item.getId()).append(DELIMITER);
+        appendText(line, item.getEmail()).append(DELIMITER);
+        appendText(line, item.getPassword()).append(DELIMITER);
+        appendText(line, item.getName()).append(DELIMITER);
+        appendText(line, item.getNickname()).append(DELIMITER);
+        appendText(line, item.getMobile()).append(DELIMITER);
+        appendDateTime(line, item.getCreatedAt()).append(DELIMITER);
+        appendDateTime(line, item.getModifiedAt());
+    }
+
+    private static StringBuilder appendText(StringBuilder line, String value) {
+        if (value == null) {
+            return line;
+        }
+        if (!needsQuote(value)) {
+            return line.append(value);
+        }
+        line.append(QUOTE);
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            if (c == QUOTE) {
+                line.append(QUOTE);
+            }
+            line.append(c);
+        }
+        return line.append(QUOTE);
+    }
+
+    private static boolean needsQuote(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            if (c == DELIMITER || c == QUOTE || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static StringBuilder appendDateTime(StringBuilder line, LocalDateTime value) {
+        if (value == null) {
+            return line;
+        }
+        final int year = value.getYear();
+        if (year < 1000 || year > 9999) {
+            return line.append(value);
+        }
+        line.append(year).append('-');
+        appendTwoDigits(line, value.getMonthValue()).append('-');
+        appendTwoDigits(line, value.getDayOfMonth()).append('T');
+        appendTwoDigits(line, value.getHour()).append(':');
+        appendTwoDigits(line, value.getMinute());
+        final int second = value.getSecond();
+        final int nano = value.getNano();
+        if (second > 0 || nano > 0) {
+            line.append(':');
+            appendTwoDigits(line, second);
+            if (nano > 0) {
+                line.append('.');
+                if (nano % 1_000_000 == 0) {
+                    appendDigits(line, nano / 1_000_000, 3);
+                } else if (nano % 1_000 == 0) {
+                    appendDigits(line, nano / 1_000, 6);
+                } else {
+                    appendDigits(line, nano, 9);
+                }
+            }
+        }
+        return line;
+    }
+
+    private static StringBuilder appendTwoDigits(StringBuilder line, int value) {
+        return line.append((char) ('0' + value / 10)).append((char) ('0' + value % 10));
+    }
+
+    private static void appendDigits(StringBuilder line, int value, int digits) {
+        for (int divisor = (int) Math.pow(10, digits - 1); divisor > 0; divisor /= 10) {
+            line.append((char) ('0' + value / divisor % 10));
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.minseok.batch.writer;
+
+import com.minseok.batch.entity.UserBak;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.util.Assert;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * package      : com.minseok.batch.writer
+ * class        : UserBakJdbcItemWriter
+ * author       : blenderkims
+ * date         : 2026/10/18
+ * description  : upserts user bak rows with multi-row "insert ... values (...), (...) on duplicate key update"
+ *                statements. full statements of batch size rows are sent with one jdbc batch,
+ *                the remainder with one more statement.
+ */
+@Slf4j
+public class UserBakJdbcItemWriter implements ItemWriter<UserBak> {
+    private static final String INSERT = "insert into tb_user_bak (id, email, password, name, nickname, mobile, created_at, modified_at, digest) values ";
+    private static final String ROW = "(?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String UPSERT = " on duplicate key update email = values(email), password = values(password), name = values(name)"
+            + ", nickname = values(nickname), mobile = values(mobile), created_at = values(created_at), modified_at = values(modified_at)"
+            + ", digest = values(digest)";
+    private static final int COLUMN_COUNT = 9;
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+    private final String batchSql;
+
+    /**
+     * Instantiates a new User bak jdbc item writer.
+     *
+     * @param jdbcTemplate the jdbc template
+     * @param batchSize    the rows per statement
+     */
+    public UserBakJdbcItemWriter(JdbcTemplate jdbcTemplate, int batchSize) {
+        Assert.notNull(jdbcTemplate, "A jdbc template is required");
+        Assert.isTrue(batchSize > 0, "Batch size must be greater than zero");
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+        this.batchSql = sql(batchSize);
+    }
+
+    @Override
+    public void write(List<? extends UserBak> items) {
+        final int statements = items.size() / batchSize;
+        final int remain = items.size() % batchSize;
+        if (statements > 0) {
+            final List<Object[]> batchArgs = new ArrayList<>(statements);
+            for (int i = 0; i < statements; i++) {
+                batchArgs.add(values(items, i * batchSize, batchSize));
+            }
+            jdbcTemplate.batchUpdate(batchSql, batchArgs);
+        }
+        if (remain > 0) {
+            jdbcTemplate.update(sql(remain), values(items, items.size() - remain, remain));
+        }
+        log.debug("[jdbc writer] items: {}, statements: {}", items.size(), statements + (remain > 0 ? 1 : 0));
+    }
+
+    private Object[] values(List<? extends UserBak> items, int from, int rows) {
+        final Object[] values = new Object[rows * COLUMN_COUNT];
+        int index = 0;
+        for (int i = from; i < from + rows; i++) {
+            final UserBak item = items.get(i);
+            values[index++] = item.getId();
+            values[index++] = item.getEmail();
+            values[index++] = item.getPassword();
+            values[index++] = item.getName();
+            values[index++] = item.getNickname();
+            values[index++] = item.getMobile();
+            values[index++] = item.getCreatedAt();
+            values[index++] = item.getModifiedAt();
+            values[index++] = item.getDigest();
+        }
+        return values;
+    }
+
+    private static String sql(int rows) {
+        final StringBuilder sql = new StringBuilder(INSERT.length() + rows * (ROW.length() + 2) + UPSERT.length());
+        sql.append(INSERT);
+        for (int i = 0; i < rows; i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(ROW);
+        }
+        return sql.append(UPSERT).toString();
+    }
+}
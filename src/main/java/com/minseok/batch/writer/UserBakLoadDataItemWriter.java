@@ -0,0 +1,94 @@
+package com.minseok.batch.writer;
+
+import com.minseok.batch.entity.UserBak;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.StatementCallback;
+import org.springframework.util.Assert;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * package      : com.minseok.batch.writer
+ * class        : UserBakLoadDataItemWriter
+ * author       : blenderkims
+ * date         : 2026/10/18
+ * description  : bulk loads user bak rows with mariadb "load data local infile". every chunk is encoded
+ *                as csv in memory and handed to the driver as the local infile stream, no temp file is written.
+ *                rows replace the rows with the same id, so a retried or restarted chunk loads again.
+ *                requires allowLocalInfile on the connection and local_infile on the server.
+ */
+@Slf4j
+public class UserBakLoadDataItemWriter implements ItemWriter<UserBak> {
+    private static final String LOAD_DATA = "load data local infile 'user_bak.csv' replace into table %s"
+            + " character set utf8mb4 fields terminated by ',' optionally enclosed by '\"' escaped by '\\\\'"
+            + " lines terminated by '\\n' (id, email, password, name, nickname, mobile, created_at, modified_at, digest)";
+    private static final DateTimeFormatter DATE_TIME_FORMAT = DateTimeFormatter.ofPattern("uuuu-MM-dd HH:mm:ss.SSSSSS");
+    private static final String NULL = "\\N";
+    private static final int LINE_CAPACITY = 256;
+    private final JdbcTemplate jdbcTemplate;
+    private final String sql;
+
+    /**
+     * Instantiates a new User bak load data item writer.
+     *
+     * @param jdbcTemplate the jdbc template
+     * @param table        the target table
+     */
+    public UserBakLoadDataItemWriter(JdbcTemplate jdbcTemplate, String table) {
+        Assert.notNull(jdbcTemplate, "A jdbc template is required");
+        Assert.hasText(table, "A table is required");
+        this.jdbcTemplate = jdbcTemplate;
+        this.sql = String.format(LOAD_DATA, table);
+    }
+
+    @Override
+    public void write(List<? extends UserBak> items) {
+        final byte[] csv = csv(items);
+        final Integer rows = jdbcTemplate.execute((StatementCallback<Integer>) statement -> {
+            statement.unwrap(org.mariadb.jdbc.Statement.class).setLocalInfileInputStream(new ByteArrayInputStream(csv));
+            return statement.executeUpdate(sql);
+        });
+        log.debug("[load data writer] items: {}, bytes: {}, affected rows: {}", items.size(), csv.length, rows);
+    }
+
+    private static byte[] csv(List<? extends UserBak> items) {
+        final StringBuilder csv = new StringBuilder(items.size() * LINE_CAPACITY);
+        for (UserBak item : items) {
+            appendText(csv, item.getId()).append(',');
+            appendText(csv, item.getEmail()).append(',');
+            appendText(csv, item.getPassword()).append(',');
+            appendText(csv, item.getName()).append(',');
+            appendText(csv, item.getNickname()).append(',');
+            appendText(csv, item.getMobile()).append(',');
+            appendDateTime(csv, item.getCreatedAt()).append(',');
+            appendDateTime(csv, item.getModifiedAt()).append(',');
+            appendText(csv, item.getDigest()).append('\n');
+        }
+        return csv.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static StringBuilder appendText(StringBuilder csv, String value) {
+        if (value == null) {
+            return csv.append(NULL);
+        }
+        csv.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                csv.append('\\');
+            }
+            csv.append(c);
+        }
+        return csv.append('"');
+    }
+
+    private static StringBuilder appendDateTime(StringBuilder csv, LocalDateTime value) {
+        return value == null ? csv.append(NULL) : csv.append(DATE_TIME_FORMAT.format(value));
+    }
+}
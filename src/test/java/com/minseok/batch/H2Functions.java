@@ -0,0 +1,39 @@
+package com.minseok.batch;
+
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+
+/**
+ * the mariadb functions the jobs use in sql that h2 does not have, registered as aliases by h2-functions.sql.
+ */
+public final class H2Functions {
+
+    private H2Functions() {}
+
+    /**
+     * Md5 string.
+     *
+     * @param value the value
+     * @return the hex md5 of the utf-8 value
+     */
+    public static String md5(String value) {
+        return value == null ? null : DigestUtils.md5DigestAsHex(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Crc 32 long.
+     *
+     * @param value the value
+     * @return the crc32 of the utf-8 value
+     */
+    public static Long crc32(String value) {
+        if (value == null) {
+            return null;
+        }
+        final CRC32 crc32 = new CRC32();
+        crc32.update(value.getBytes(StandardCharsets.UTF_8));
+        return crc32.getValue();
+    }
+}
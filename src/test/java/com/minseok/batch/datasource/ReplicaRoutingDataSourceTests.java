@@ -0,0 +1,107 @@
+package com.minseok.batch.datasource;
+
+import com.minseok.batch.partitioner.UserPartitioner;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamReader;
+import org.springframework.batch.item.database.builder.JdbcCursorItemReaderBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.SingleColumnRowMapper;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReplicaRoutingDataSourceTests {
+    private EmbeddedDatabase primary;
+    private EmbeddedDatabase replica;
+    private ReplicaRoutingDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        primary = database("primary", "p1", "p2");
+        replica = database("replica", "r1", "r2", "r3", "r4");
+        dataSource = new ReplicaRoutingDataSource(primary, replica);
+        dataSource.afterPropertiesSet();
+    }
+
+    @AfterEach
+    void tearDown() {
+        primary.shutdown();
+        replica.shutdown();
+    }
+
+    @Test
+    void readersTakeTheReplicaAndWritersThePrimary() throws Exception {
+        final ItemStreamReader<String> reader = new ReplicaRoutingItemReader<>(new JdbcCursorItemReaderBuilder<String>()
+                .name("userIdReader")
+                .dataSource(dataSource)
+                .sql("select id from tb_user order by id")
+                .rowMapper(new SingleColumnRowMapper<>(String.class))
+                .build());
+        final JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        final List<String> ids = new ArrayList<>();
+        reader.open(new ExecutionContext());
+        try {
+            for (String id = reader.read(); id != null; id = reader.read()) {
+                jdbcTemplate.update("insert into tb_user_bak (id) values (?)", id);
+                ids.add(id);
+            }
+        } finally {
+            reader.close();
+        }
+
+        assertThat(ids).containsExactly("r1", "r2", "r3", "r4");
+        assertThat(new JdbcTemplate(primary).queryForList("select id from tb_user_bak order by id", String.class))
+                .containsExactly("r1", "r2", "r3", "r4");
+        assertThat(new JdbcTemplate(replica).queryForObject("select count(*) from tb_user_bak", Integer.class)).isZero();
+        assertThat(ReplicaRoutingDataSource.isReplicaRoute()).isFalse();
+    }
+
+    @Test
+    void partitionBoundariesAreQueriedOnTheReplica() {
+        final JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        final UserPartitioner partitioner = new UserPartitioner(gridSize -> jdbcTemplate.queryForList("select id from tb_user order by id", String.class));
+
+        final Map<String, ExecutionContext> partitions = partitioner.partition(2);
+
+        assertThat(partitions).hasSize(3);
+        assertThat(partitions.get("partition0").getString("startId")).isEqualTo("r1");
+        assertThat(partitions.get("partition2").getString("endId")).isEqualTo("r4");
+        assertThat(jdbcTemplate.queryForList("select id from tb_user order by id", String.class)).containsExactly("p1", "p2");
+    }
+
+    @Test
+    void nestedReplicaRouteIsRestored() {
+        final JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+
+        final Integer counts = ReplicaRoutingDataSource.onReplica(() -> {
+            final Integer nested = ReplicaRoutingDataSource.onReplica(() -> jdbcTemplate.queryForObject("select count(*) from tb_user", Integer.class));
+            return nested + jdbcTemplate.queryForObject("select count(*) from tb_user", Integer.class);
+        });
+
+        assertThat(counts).isEqualTo(8);
+        assertThat(jdbcTemplate.queryForObject("select count(*) from tb_user", Integer.class)).isEqualTo(2);
+    }
+
+    private EmbeddedDatabase database(String name, String... ids) {
+        final EmbeddedDatabase database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .setName(name)
+                .build();
+        final JdbcTemplate jdbcTemplate = new JdbcTemplate(database);
+        jdbcTemplate.execute("create table tb_user (id varchar(32) primary key)");
+        jdbcTemplate.execute("create table tb_user_bak (id varchar(32) primary key)");
+        for (String id : ids) {
+            jdbcTemplate.update("insert into tb_user (id) values (?)", id);
+        }
+        return database;
+    }
+}
@@ -0,0 +1,52 @@
+package com.minseok.batch.entity;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("h2")
+class UserBakTests {
+    // the microseconds end with a non zero digit, h2 drops the trailing zeros of a fraction where mariadb keeps six digits
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2026, 10, 18, 9, 30, 15, 123_456_000);
+    private static final LocalDateTime MODIFIED_AT = LocalDateTime.of(2026, 10, 18, 23, 59, 59, 999_999_000);
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("delete from tb_user_bak");
+    }
+
+    static Stream<UserBak> userBaks() {
+        return Stream.of(
+                UserBak.builder().id("0001").email("user1@test.com").password("password").name("name").nickname("nickname")
+                        .mobile("01012345678").createdAt(CREATED_AT).modifiedAt(MODIFIED_AT).build()
+                , UserBak.builder().id("0002").email("user2@test.com").createdAt(CREATED_AT).build()
+                , UserBak.builder().id("0003").email("user3@test.com").name("\uc774\ub984|with|separators").createdAt(MODIFIED_AT)
+                        .modifiedAt(CREATED_AT).build());
+    }
+
+    @ParameterizedTest
+    @MethodSource("userBaks")
+    void digestSqlMatchesTheEntityDigest(UserBak userBak) {
+        jdbcTemplate.update("insert into tb_user_bak (id, email, password, name, nickname, mobile, created_at, modified_at)"
+                        + " values (?, ?, ?, ?, ?, ?, ?, ?)"
+                , userBak.getId(), userBak.getEmail(), userBak.getPassword(), userBak.getName(), userBak.getNickname()
+                , userBak.getMobile(), userBak.getCreatedAt(), userBak.getModifiedAt());
+
+        final String digest = jdbcTemplate.queryForObject("select " + UserBak.DIGEST_SQL + " from tb_user_bak t where t.id = ?"
+                , String.class, userBak.getId());
+
+        assertThat(digest).isEqualTo(userBak.getDigest());
+    }
+}
@@ -0,0 +1,60 @@
+package com.minseok.batch.executor;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BoundedVirtualThreadTaskExecutorTests {
+    private final BoundedVirtualThreadTaskExecutor executor = new BoundedVirtualThreadTaskExecutor("test-vthread-", 2);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void everySubmitPathIsDecorated() throws Exception {
+        final Timer waitTimer = Timer.builder("batch.executor.wait").register(new SimpleMeterRegistry());
+        executor.setTaskDecorator(new WaitTimeTaskDecorator(waitTimer));
+        final CountDownLatch executed = new CountDownLatch(1);
+
+        executor.execute(executed::countDown);
+        executor.submit(() -> { }).get(5, TimeUnit.SECONDS);
+        final Future<String> callable = executor.submit(() -> "called");
+
+        assertThat(callable.get(5, TimeUnit.SECONDS)).isEqualTo("called");
+        assertThat(executed.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(waitTimer.count()).isEqualTo(3);
+    }
+
+    @Test
+    void callablesShareThePermitsOfTheOtherTasks() throws Exception {
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger maxRunning = new AtomicInteger();
+        final List<Future<Integer>> futures = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            final int value = i;
+            futures.add(executor.submit(() -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                TimeUnit.MILLISECONDS.sleep(10);
+                running.decrementAndGet();
+                return value;
+            }));
+        }
+
+        for (int i = 0; i < futures.size(); i++) {
+            assertThat(futures.get(i).get(5, TimeUnit.SECONDS)).isEqualTo(i);
+        }
+        assertThat(maxRunning.get()).isBetween(1, 2);
+    }
+}
@@ -0,0 +1,59 @@
+package com.minseok.batch.executor;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ConnectionBudgetTests {
+
+    @Test
+    void withoutReplicaTheWorkersShareThePrimaryPool() {
+        final ConnectionBudget budget = new ConnectionBudget(10, 0, 2, 100);
+
+        // (10 - 2) / (1 + 1)
+        assertThat(budget.concurrency(1, 1)).isEqualTo(4);
+        // (10 - 2) / (3 + 1)
+        assertThat(budget.concurrency(3, 1)).isEqualTo(2);
+        assertThat(budget.concurrency(1, 0)).isEqualTo(8);
+    }
+
+    @Test
+    void withReplicaTheReadsComeOutOfTheReplicaPool() {
+        final ConnectionBudget budget = new ConnectionBudget(10, 8, 2, 100);
+
+        // min((10 - 2) / 2, 8 / 1)
+        assertThat(budget.concurrency(2, 1)).isEqualTo(4);
+        // min((10 - 2) / 1, 8 / 4)
+        assertThat(budget.concurrency(1, 4)).isEqualTo(2);
+        assertThat(budget.concurrency(2, 0)).isEqualTo(4);
+    }
+
+    @Test
+    void reservedConnectionsAreKeptOutOfTheBudget() {
+        assertThat(new ConnectionBudget(10, 0, 0, 100).concurrency(1, 1)).isEqualTo(5);
+        assertThat(new ConnectionBudget(10, 0, 4, 100).concurrency(1, 1)).isEqualTo(3);
+    }
+
+    @Test
+    void concurrencyIsAtLeastOne() {
+        // more reserved than the pool has
+        assertThat(new ConnectionBudget(2, 0, 5, 100).concurrency(2, 1)).isEqualTo(1);
+        // a worker needs more connections than the budget
+        assertThat(new ConnectionBudget(10, 4, 2, 100).concurrency(1, 5)).isEqualTo(1);
+        assertThat(new ConnectionBudget(1, 0, 0, 100).concurrency(0, 0)).isEqualTo(1);
+    }
+
+    @Test
+    void concurrencyIsCappedByMaxConcurrency() {
+        assertThat(new ConnectionBudget(100, 0, 0, 8).concurrency(1, 1)).isEqualTo(8);
+    }
+
+    @Test
+    void invalidPoolSizesAreRejected() {
+        assertThatThrownBy(() -> new ConnectionBudget(0, 0, 0, 1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new ConnectionBudget(10, -1, 0, 1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new ConnectionBudget(10, 0, -1, 1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new ConnectionBudget(10, 0, 0, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
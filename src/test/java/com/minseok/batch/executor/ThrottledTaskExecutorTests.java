@@ -0,0 +1,90 @@
+package com.minseok.batch.executor;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ThrottledTaskExecutorTests {
+    private final ManualTaskExecutor delegate = new ManualTaskExecutor();
+    private final ThrottledTaskExecutor executor = new ThrottledTaskExecutor(delegate, 2);
+    private final List<Integer> ran = new ArrayList<>();
+
+    @Test
+    void tasksBeyondTheLimitWaitInSubmitOrder() {
+        for (int i = 0; i < 5; i++) {
+            executor.execute(task(i));
+        }
+        assertThat(delegate.tasks).hasSize(2);
+
+        // every finishing task hands the next pending one to the delegate
+        while (!delegate.tasks.isEmpty()) {
+            delegate.tasks.poll().run();
+            assertThat(delegate.tasks).hasSizeLessThanOrEqualTo(2);
+        }
+
+        assertThat(ran).containsExactly(0, 1, 2, 3, 4);
+        assertThat(delegate.handedOver).isEqualTo(5);
+    }
+
+    @Test
+    void pendingTasksRunInlineWhenTheDelegateRejectsThem() {
+        for (int i = 0; i < 4; i++) {
+            executor.execute(task(i));
+        }
+        delegate.rejecting = true;
+
+        // the finishing worker keeps its slot and runs the pending tasks itself
+        delegate.tasks.poll().run();
+        assertThat(ran).containsExactly(0, 2, 3);
+        delegate.tasks.poll().run();
+        assertThat(ran).containsExactly(0, 2, 3, 1);
+
+        // both slots are free again
+        delegate.rejecting = false;
+        executor.execute(task(4));
+        executor.execute(task(5));
+        assertThat(delegate.tasks).hasSize(2);
+    }
+
+    @Test
+    void rejectedExecuteReleasesTheSlot() {
+        delegate.rejecting = true;
+        assertThatThrownBy(() -> executor.execute(task(0))).isInstanceOf(TaskRejectedException.class);
+        assertThatThrownBy(() -> executor.execute(task(1))).isInstanceOf(TaskRejectedException.class);
+
+        delegate.rejecting = false;
+        executor.execute(task(2));
+        executor.execute(task(3));
+        assertThat(delegate.tasks).hasSize(2);
+    }
+
+    private Runnable task(int number) {
+        return () -> ran.add(number);
+    }
+
+    /**
+     * keeps the handed over tasks until the test runs them.
+     */
+    private static class ManualTaskExecutor implements TaskExecutor {
+        private final Deque<Runnable> tasks = new ArrayDeque<>();
+        private int handedOver;
+        private boolean rejecting;
+
+        @Override
+        public void execute(Runnable task) {
+            if (rejecting) {
+                throw new TaskRejectedException("rejected");
+            }
+            handedOver++;
+            tasks.add(task);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.minseok.batch.incrementer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobInstance;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.explore.JobExplorer;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(OutputCaptureExtension.class)
+class RestartAwareRunIdIncrementerTests {
+    private static final String JOB_NAME = "testJob";
+    private static final JobParameters LAST_PARAMETERS = new JobParametersBuilder().addLong("run.id", 7L).toJobParameters();
+    private final JobExplorer jobExplorer = mock(JobExplorer.class);
+    private final JobInstance lastInstance = new JobInstance(3L, JOB_NAME);
+    private RestartAwareRunIdIncrementer incrementer;
+
+    @BeforeEach
+    void setUp() {
+        when(jobExplorer.getLastJobInstance(JOB_NAME)).thenReturn(lastInstance);
+        incrementer = new RestartAwareRunIdIncrementer(jobExplorer, JOB_NAME, Duration.ofMinutes(30));
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = BatchStatus.class, names = {"FAILED", "STOPPED"})
+    void failedOrStoppedInstanceIsRestarted(BatchStatus status) {
+        lastExecution(status, Duration.ofMinutes(1));
+
+        assertThat(incrementer.getNext(LAST_PARAMETERS)).isEqualTo(LAST_PARAMETERS);
+    }
+
+    @Test
+    void staleRunningInstanceIsReportedAndANewInstanceStarts(CapturedOutput output) {
+        lastExecution(BatchStatus.STARTED, Duration.ofHours(2));
+
+        assertThat(incrementer.getNext(LAST_PARAMETERS).getLong("run.id")).isEqualTo(8L);
+        assertThat(output).contains("execution 11 is STARTED").contains("where job_execution_id = 11");
+    }
+
+    @Test
+    void runningInstanceWithRecentCommitsIsNotReported(CapturedOutput output) {
+        final JobExecution jobExecution = lastExecution(BatchStatus.STARTED, Duration.ofHours(2));
+        // the job execution is only updated at its start, the step executions on every commit
+        final StepExecution stepExecution = jobExecution.createStepExecution("testStep");
+        stepExecution.setLastUpdated(Date.from(Instant.now().minus(Duration.ofMinutes(1))));
+
+        assertThat(incrementer.getNext(LAST_PARAMETERS).getLong("run.id")).isEqualTo(8L);
+        assertThat(output).doesNotContain("can not be restarted");
+    }
+
+    @Test
+    void unknownInstanceIsReportedAndANewInstanceStarts(CapturedOutput output) {
+        lastExecution(BatchStatus.UNKNOWN, Duration.ofMinutes(1));
+
+        assertThat(incrementer.getNext(LAST_PARAMETERS).getLong("run.id")).isEqualTo(8L);
+        assertThat(output).contains("execution 11 is UNKNOWN");
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = BatchStatus.class, names = {"COMPLETED", "ABANDONED"})
+    void completedOrAbandonedInstanceStartsANewInstance(BatchStatus status) {
+        lastExecution(status, Duration.ofMinutes(1));
+
+        assertThat(incrementer.getNext(LAST_PARAMETERS).getLong("run.id")).isEqualTo(8L);
+    }
+
+    @Test
+    void firstRunStartsANewInstance() {
+        when(jobExplorer.getLastJobInstance(JOB_NAME)).thenReturn(null);
+
+        assertThat(incrementer.getNext(new JobParameters()).getLong("run.id")).isEqualTo(1L);
+    }
+
+    private JobExecution lastExecution(BatchStatus status, Duration lastUpdatedAgo) {
+        final JobExecution jobExecution = new JobExecution(lastInstance, 11L, LAST_PARAMETERS, null);
+        final Date lastUpdated = Date.from(Instant.now().minus(lastUpdatedAgo));
+        jobExecution.setStatus(status);
+        jobExecution.setCreateTime(lastUpdated);
+        jobExecution.setStartTime(lastUpdated);
+        jobExecution.setLastUpdated(lastUpdated);
+        when(jobExplorer.getLastJobExecution(lastInstance)).thenReturn(jobExecution);
+        return jobExecution;
+    }
+}
@@ -0,0 +1,110 @@
+package com.minseok.batch.job;
+
+import com.minseok.batch.entity.User;
+import com.minseok.batch.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamReader;
+import org.springframework.batch.test.MetaDataInstanceFactory;
+import org.springframework.batch.test.StepScopeTestUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("h2")
+class FlowPartitionUserBatchPipelinedRestartTests {
+    private static final String PARTITION_STEP = "flowPartitionUserBatchJobPartitionStep:partition0";
+    private static final String LAST_KEY = "flowPartitionUserBatchJobItemReader.last.key";
+    private static final int USERS = 3000;
+    private static final int COMMITTED = 1500;
+    private static final int UNCOMMITTED = 200;
+    @Autowired
+    @Qualifier("flowPartitionUserBatchJobItemReader")
+    private ItemStreamReader<User> itemReader;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    private List<String> ids;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("delete from tb_user_bak");
+        jdbcTemplate.update("delete from tb_user");
+        userRepository.saveAll(IntStream.range(0, USERS)
+                .mapToObj(i -> User.builder().email("user" + i + "@test.com").name("name" + i).build())
+                .collect(Collectors.toList()));
+        ids = jdbcTemplate.queryForList("select id from tb_user order by id", String.class);
+    }
+
+    @Test
+    void restartedPartitionResumesAfterTheLastConsumedKey() throws Exception {
+        final JobParameters jobParameters = new JobParametersBuilder().addString("pipelined", "true").toJobParameters();
+        final JobExecution jobExecution = MetaDataInstanceFactory.createJobExecution("flowPartitionUserBatchJob", 1L, 1L, jobParameters);
+        final List<String> written = new ArrayList<>();
+
+        // first run: a chunk commits, the next one fails before its commit, the producer has read ahead meanwhile
+        final StepExecution failed = partition(jobExecution, 1L);
+        StepScopeTestUtils.doInStepScope(failed, () -> {
+            itemReader.open(failed.getExecutionContext());
+            try {
+                written.addAll(read(COMMITTED));
+                itemReader.update(failed.getExecutionContext());
+                assertThat(read(UNCOMMITTED)).hasSize(UNCOMMITTED);
+            } finally {
+                itemReader.close();
+            }
+            return null;
+        });
+        assertThat(failed.getExecutionContext().getString(LAST_KEY)).isEqualTo(ids.get(COMMITTED - 1));
+
+        // restart from the saved execution context of the failed partition
+        final StepExecution restarted = partition(jobExecution, 2L);
+        restarted.setExecutionContext(new ExecutionContext(failed.getExecutionContext()));
+        final List<String> resumed = StepScopeTestUtils.doInStepScope(restarted, () -> {
+            itemReader.open(restarted.getExecutionContext());
+            try {
+                return read(Integer.MAX_VALUE);
+            } finally {
+                itemReader.close();
+            }
+        });
+
+        assertThat(resumed.get(0)).isEqualTo(ids.get(COMMITTED));
+        written.addAll(resumed);
+        assertThat(written).containsExactlyElementsOf(ids);
+    }
+
+    private StepExecution partition(JobExecution jobExecution, Long id) {
+        final StepExecution stepExecution = MetaDataInstanceFactory.createStepExecution(jobExecution, PARTITION_STEP, id);
+        stepExecution.getExecutionContext().putInt("partitionNumber", 0);
+        stepExecution.getExecutionContext().putString("startId", ids.get(0));
+        stepExecution.getExecutionContext().putString("endId", ids.get(ids.size() - 1));
+        stepExecution.getExecutionContext().put("isLast", true);
+        return stepExecution;
+    }
+
+    private List<String> read(int count) throws Exception {
+        final List<String> read = new ArrayList<>();
+        User user;
+        while (read.size() < count && (user = itemReader.read()) != null) {
+            read.add(user.getId());
+        }
+        return read;
+    }
+}
@@ -0,0 +1,77 @@
+package com.minseok.batch.job;
+
+import com.minseok.batch.entity.User;
+import com.minseok.batch.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.explore.JobExplorer;
+import org.springframework.batch.core.launch.JobLauncher;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// spring.batch.remote.transport=local with the h2 profile
+@SpringBootTest
+@ActiveProfiles("h2")
+class RemotePartitionUserBatchTests {
+    private static final String USER_COLUMNS = "select id, email, password, name, nickname, mobile, created_at, modified_at from %s order by id";
+    @Autowired
+    private JobLauncher jobLauncher;
+    @Autowired
+    private JobExplorer jobExplorer;
+    @Autowired
+    @Qualifier("remotePartitionUserBatchJob")
+    private Job job;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("delete from tb_user_bak");
+        jdbcTemplate.update("delete from tb_user");
+    }
+
+    @Test
+    void localTransportRunsEveryPartitionOnTheWorkerStep() throws Exception {
+        userRepository.saveAll(IntStream.range(0, 500)
+                .mapToObj(i -> User.builder()
+                        .email("user" + i + "@test.com")
+                        .password(i % 3 == 0 ? null : "password" + i)
+                        .name("name" + i)
+                        .nickname(i % 5 == 0 ? null : "nickname" + i)
+                        .mobile("010" + i)
+                        .build())
+                .collect(Collectors.toList()));
+
+        final JobExecution jobExecution = jobLauncher.run(job, new JobParametersBuilder().addLong("run.id", 1L).toJobParameters());
+
+        assertThat(jobExecution.getStatus()).isEqualTo(BatchStatus.COMPLETED);
+        final List<StepExecution> workerExecutions = jobExplorer.getJobExecution(jobExecution.getId()).getStepExecutions().stream()
+                .filter(stepExecution -> stepExecution.getStepName().startsWith("remotePartitionUserBatchJobWorkerStep:"))
+                .collect(Collectors.toList());
+        // 4 ntile ranges of the grid size
+        assertThat(workerExecutions).hasSize(4)
+                .allMatch(stepExecution -> stepExecution.getStatus() == BatchStatus.COMPLETED);
+        assertThat(workerExecutions.stream().map(StepExecution::getStepName).distinct()).hasSize(4);
+        assertThat(workerExecutions.stream().mapToInt(StepExecution::getWriteCount).sum()).isEqualTo(500);
+        final List<Map<String, Object>> users = jdbcTemplate.queryForList(String.format(USER_COLUMNS, "tb_user"));
+        assertThat(users).hasSize(500);
+        assertThat(jdbcTemplate.queryForList(String.format(USER_COLUMNS, "tb_user_bak"))).isEqualTo(users);
+    }
+}
@@ -0,0 +1,96 @@
+package com.minseok.batch.partitioner;
+
+import com.minseok.batch.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class NtilePartitionBoundaryProviderTests {
+    private SingleConnectionDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private NtilePartitionBoundaryProvider provider;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        dataSource = new SingleConnectionDataSource("jdbc:h2:mem:ntile;MODE=MariaDB;DATABASE_TO_LOWER=TRUE", true);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("create table tb_user (id varchar(32) primary key)");
+        // the native query of the repository itself, run against h2 in mariadb mode
+        final String sql = UserRepository.class.getMethod("findNtileBoundaries", int.class).getAnnotation(Query.class).value();
+        final NamedParameterJdbcTemplate namedParameterJdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+        final UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.findNtileBoundaries(anyInt())).thenAnswer(invocation -> namedParameterJdbcTemplate.queryForList(sql
+                , Map.of("gridSize", invocation.getArgument(0)), String.class));
+        provider = new NtilePartitionBoundaryProvider(userRepository);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("drop table tb_user");
+        dataSource.destroy();
+    }
+
+    @ParameterizedTest
+    @CsvSource({"1000, 8", "1001, 8", "10, 3", "1, 4", "3, 8", "8, 8"})
+    void boundariesAreAscendingDistinctFromMinToMax(int rowCount, int gridSize) {
+        final List<String> ids = insert(rowCount);
+
+        final List<String> boundaries = provider.boundaries(gridSize);
+
+        assertThat(boundaries).isSorted().doesNotHaveDuplicates();
+        assertThat(boundaries.get(0)).isEqualTo(ids.get(0));
+        assertThat(boundaries.get(boundaries.size() - 1)).isEqualTo(ids.get(ids.size() - 1));
+        assertThat(boundaries.size()).isLessThanOrEqualTo(Math.min(gridSize, rowCount) + 1);
+    }
+
+    @ParameterizedTest
+    @CsvSource({"1000, 8", "10, 3", "1, 4", "3, 8"})
+    void lastPartitionIncludesTheMaxId(int rowCount, int gridSize) {
+        final List<String> ids = insert(rowCount);
+
+        final List<ExecutionContext> partitions = new UserPartitioner(provider).partition(gridSize).values().stream()
+                .sorted(Comparator.comparing(p -> p.getInt("partitionNumber")))
+                .collect(Collectors.toList());
+
+        final ExecutionContext last = partitions.get(partitions.size() - 1);
+        assertThat(last.get("isLast")).isEqualTo(true);
+        assertThat(last.getString("endId")).isEqualTo(ids.get(ids.size() - 1));
+        assertThat(ids).allMatch(id -> partitions.stream().filter(p -> contains(p, id)).count() == 1);
+    }
+
+    @Test
+    void noBoundaryForEmptyTable() {
+        assertThat(provider.boundaries(4)).isEmpty();
+        assertThat(new UserPartitioner(provider).partition(4)).isEmpty();
+    }
+
+    private List<String> insert(int rowCount) {
+        final List<String> ids = IntStream.range(0, rowCount).mapToObj(i -> String.format("%032x", i * 7919L)).sorted().collect(Collectors.toList());
+        jdbcTemplate.batchUpdate("insert into tb_user (id) values (?)", ids.stream().map(id -> new Object[]{id}).collect(Collectors.toList()));
+        return ids;
+    }
+
+    private boolean contains(ExecutionContext partition, String id) {
+        final boolean isLast = (Boolean) partition.get("isLast");
+        final int upper = id.compareTo(partition.getString("endId"));
+        return id.compareTo(partition.getString("startId")) >= 0 && (isLast ? upper <= 0 : upper < 0);
+    }
+}
@@ -0,0 +1,80 @@
+package com.minseok.batch.partitioner;
+
+import com.minseok.batch.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class UserPartitionerTests {
+
+    @ParameterizedTest
+    @CsvSource({"1000, 8", "1001, 8", "999, 7", "64, 32", "10, 4"})
+    void partitionsAreContiguousNonOverlappingAndBalanced(int rowCount, int gridSize) {
+        final List<String> ids = ids(rowCount);
+        final List<ExecutionContext> partitions = partition(ids, gridSize);
+
+        assertThat(partitions).hasSize(gridSize);
+        assertThat(partitions.get(0).getString("startId")).isEqualTo(ids.get(0));
+        assertThat(partitions.get(partitions.size() - 1).getString("endId")).isEqualTo(ids.get(ids.size() - 1));
+        for (int i = 0; i < partitions.size(); i++) {
+            assertThat(partitions.get(i).getInt("partitionNumber")).isEqualTo(i);
+            assertThat(partitions.get(i).get("isLast")).isEqualTo(i == partitions.size() - 1);
+            if (i > 0) {
+                assertThat(partitions.get(i).getString("startId")).isEqualTo(partitions.get(i - 1).getString("endId"));
+            }
+        }
+
+        final List<Long> sizes = partitions.stream().map(p -> ids.stream().filter(id -> contains(p, id)).count()).collect(Collectors.toList());
+        assertThat(sizes.stream().mapToLong(Long::longValue).sum()).isEqualTo(rowCount);
+        assertThat(ids).allMatch(id -> partitions.stream().filter(p -> contains(p, id)).count() == 1);
+        assertThat(sizes).allMatch(size -> size >= rowCount / gridSize && size <= (rowCount + gridSize - 1) / gridSize);
+    }
+
+    @ParameterizedTest
+    @CsvSource({"1, 4", "2, 4", "3, 8"})
+    void everyRowIsCoveredOnceWhenGridSizeExceedsRowCount(int rowCount, int gridSize) {
+        final List<String> ids = ids(rowCount);
+        final List<ExecutionContext> partitions = partition(ids, gridSize);
+
+        assertThat(partitions).isNotEmpty();
+        assertThat(ids).allMatch(id -> partitions.stream().filter(p -> contains(p, id)).count() == 1);
+    }
+
+    @Test
+    void noPartitionForEmptyTable() {
+        assertThat(partition(List.of(), 4)).isEmpty();
+    }
+
+    private List<ExecutionContext> partition(List<String> ids, int gridSize) {
+        final UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.count()).thenReturn((long) ids.size());
+        when(userRepository.streamAllIds()).thenAnswer(invocation -> ids.stream());
+        final UserPartitioner partitioner = new UserPartitioner(new StridePartitionBoundaryProvider(userRepository, TransactionOperations.withoutTransaction()));
+        final Map<String, ExecutionContext> result = partitioner.partition(gridSize);
+        return result.values().stream()
+                .sorted(Comparator.comparing(p -> p.getInt("partitionNumber")))
+                .collect(Collectors.toList());
+    }
+
+    private boolean contains(ExecutionContext partition, String id) {
+        final boolean isLast = (Boolean) partition.get("isLast");
+        final int upper = id.compareTo(partition.getString("endId"));
+        return id.compareTo(partition.getString("startId")) >= 0 && (isLast ? upper <= 0 : upper < 0);
+    }
+
+    private List<String> ids(int rowCount) {
+        return IntStream.range(0, rowCount).mapToObj(i -> String.format("%032x", i * 7919L)).sorted().collect(Collectors.toList());
+    }
+}
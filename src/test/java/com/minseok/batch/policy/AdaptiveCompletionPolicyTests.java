@@ -0,0 +1,116 @@
+package com.minseok.batch.policy;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.scope.context.StepContext;
+import org.springframework.batch.repeat.RepeatContext;
+import org.springframework.batch.repeat.context.RepeatContextSupport;
+import org.springframework.batch.test.MetaDataInstanceFactory;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveCompletionPolicyTests {
+    private static final long TARGET_MILLIS = 1000;
+    private final AtomicLong clock = new AtomicLong();
+    private final StepExecution stepExecution = MetaDataInstanceFactory.createStepExecution();
+    private final ChunkContext chunkContext = new ChunkContext(new StepContext(stepExecution));
+
+    @ParameterizedTest
+    @CsvSource({
+            "1000, 100, 1250",  // faster than half of the target grows by a quarter
+            "1000, 499, 1250",
+            "1000, 500, 1000",  // between half and the target keeps the size
+            "1000, 1000, 1000",
+            "1000, 1001, 750",  // slower than the target shrinks by a quarter
+            "1000, 3000, 750",
+            "4500, 100, 5000",  // grows up to the max size
+            "120, 3000, 100",   // shrinks down to the min size
+            "2, 3000, 100"      // the initial size is clamped too
+    })
+    void chunkSizeFollowsTheChunkLatency(int initialChunkSize, long elapsedMillis, int expectedChunkSize) {
+        final AdaptiveCompletionPolicy policy = policy(initialChunkSize);
+
+        chunk(policy, elapsedMillis);
+
+        assertThat(policy.getChunkSize()).isEqualTo(expectedChunkSize);
+        assertThat(stepExecution.getExecutionContext().getInt(AdaptiveCompletionPolicy.CHUNK_SIZE)).isEqualTo(expectedChunkSize);
+    }
+
+    @ParameterizedTest
+    @CsvSource({"1000, 500", "150, 100", "100, 100"})
+    void rolledBackChunkHalvesTheSizeDownToTheMin(int initialChunkSize, int expectedChunkSize) {
+        final AdaptiveCompletionPolicy policy = policy(initialChunkSize);
+
+        policy.start(null);
+        policy.beforeChunk(chunkContext);
+        policy.afterChunkError(chunkContext);
+
+        assertThat(policy.getChunkSize()).isEqualTo(expectedChunkSize);
+    }
+
+    @Test
+    void usedSizesAndAdjustmentsAreRecorded() {
+        final AdaptiveCompletionPolicy policy = policy(1000);
+
+        chunk(policy, 100);
+        chunk(policy, 3000);
+        chunk(policy, 3000);
+        chunk(policy, 700);
+
+        assertThat(policy.getChunkSize()).isEqualTo(704);
+        assertThat(stepExecution.getExecutionContext().getInt(AdaptiveCompletionPolicy.MIN_USED_CHUNK_SIZE)).isEqualTo(704);
+        assertThat(stepExecution.getExecutionContext().getInt(AdaptiveCompletionPolicy.MAX_USED_CHUNK_SIZE)).isEqualTo(1250);
+        assertThat(stepExecution.getExecutionContext().getInt(AdaptiveCompletionPolicy.ADJUSTMENTS)).isEqualTo(3);
+        assertThat(stepExecution.getExecutionContext().getLong(AdaptiveCompletionPolicy.ROWS_PER_SECOND)).isEqualTo(1005);
+    }
+
+    @Test
+    void everyThreadKeepsTheSizeItsChunkStartedWith() throws Exception {
+        final AdaptiveCompletionPolicy policy = policy(1000);
+        final ExecutorService other = Executors.newSingleThreadExecutor();
+        try {
+            final RepeatContext otherChunk = other.submit(() -> {
+                final RepeatContext context = policy.start(null);
+                policy.beforeChunk(chunkContext);
+                return context;
+            }).get();
+
+            chunk(policy, 100);
+            assertThat(policy.getChunkSize()).isEqualTo(1250);
+
+            // the other chunk still completes at the 1000 items it started with
+            for (int i = 0; i < 999; i++) {
+                ((RepeatContextSupport) otherChunk).increment();
+            }
+            assertThat(policy.isComplete(otherChunk)).isFalse();
+            ((RepeatContextSupport) otherChunk).increment();
+            assertThat(policy.isComplete(otherChunk)).isTrue();
+
+            clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(3000));
+            other.submit(() -> policy.afterChunk(chunkContext)).get();
+            // shrunk from its own 1000, not from the 1250 of the faster chunk
+            assertThat(policy.getChunkSize()).isEqualTo(750);
+        } finally {
+            other.shutdownNow();
+        }
+    }
+
+    private AdaptiveCompletionPolicy policy(int initialChunkSize) {
+        return new AdaptiveCompletionPolicy(initialChunkSize, 100, 5000, TARGET_MILLIS, clock::get);
+    }
+
+    private void chunk(AdaptiveCompletionPolicy policy, long elapsedMillis) {
+        policy.start(null);
+        policy.beforeChunk(chunkContext);
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(elapsedMillis));
+        policy.afterChunk(chunkContext);
+    }
+}
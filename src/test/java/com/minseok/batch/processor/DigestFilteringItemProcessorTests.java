@@ -0,0 +1,141 @@
+package com.minseok.batch.processor;
+
+import com.minseok.batch.entity.User;
+import com.minseok.batch.entity.UserBak;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DigestFilteringItemProcessorTests {
+    private static final String TABLE = "tb_digest";
+    private final RecordingJdbcTemplate jdbcTemplate = new RecordingJdbcTemplate();
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("create table " + TABLE + " (id varchar(32) primary key, digest varchar(32))");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("drop table " + TABLE);
+    }
+
+    @Test
+    void windowIsReloadedOnceTheUsersPassItsUpperId() throws Exception {
+        // id00..id09 stored, id03 and id07 changed since
+        store(10, "id03", "id07");
+        final DigestFilteringItemProcessor processor = new DigestFilteringItemProcessor(jdbcTemplate, TABLE, 4, null, false);
+
+        final List<String> written = process(processor, ids(10));
+
+        assertThat(written).containsExactly("id03", "id07");
+        // two full windows, the third one is short and stays open
+        assertThat(jdbcTemplate.windows).containsExactly("id00", "id04", "id08");
+    }
+
+    @Test
+    void shortWindowCoversTheIdsAfterTheLastStoredRow() throws Exception {
+        store(3);
+        final DigestFilteringItemProcessor processor = new DigestFilteringItemProcessor(jdbcTemplate, TABLE, 4, null, false);
+
+        final List<String> written = process(processor, List.of("id00", "id01", "id02", "id05", "id09"));
+
+        assertThat(written).containsExactly("id05", "id09");
+        assertThat(jdbcTemplate.windows).containsExactly("id00");
+    }
+
+    @Test
+    void fullWindowEndingAtTheLastStoredRowIsNotOpen() throws Exception {
+        store(4);
+        final DigestFilteringItemProcessor processor = new DigestFilteringItemProcessor(jdbcTemplate, TABLE, 4, null, false);
+
+        final List<String> written = process(processor, List.of("id00", "id03", "id05", "id06"));
+
+        assertThat(written).containsExactly("id05", "id06");
+        // the window may end before the table does, the next id loads an empty window which is open
+        assertThat(jdbcTemplate.windows).containsExactly("id00", "id05");
+    }
+
+    @Test
+    void windowStopsAtTheEndIdOfThePartition() throws Exception {
+        store(10);
+        final DigestFilteringItemProcessor processor = new DigestFilteringItemProcessor(jdbcTemplate, TABLE, 4, "id02", true);
+
+        final List<String> written = process(processor, ids(3));
+
+        assertThat(written).isEmpty();
+        assertThat(jdbcTemplate.windows).containsExactly("id00");
+        assertThat(jdbcTemplate.rows).containsExactly(3);
+    }
+
+    @Test
+    void exclusiveEndIdIsNotLoaded() throws Exception {
+        store(10);
+        final DigestFilteringItemProcessor processor = new DigestFilteringItemProcessor(jdbcTemplate, TABLE, 4, "id02", false);
+
+        final List<String> written = process(processor, ids(2));
+
+        assertThat(written).isEmpty();
+        assertThat(jdbcTemplate.rows).containsExactly(2);
+    }
+
+    private void store(int count, String... changed) {
+        final List<String> changedIds = List.of(changed);
+        for (String id : ids(count)) {
+            jdbcTemplate.update("insert into " + TABLE + " (id, digest) values (?, ?)"
+                    , id, changedIds.contains(id) ? "changed" : UserBak.of(user(id)).getDigest());
+        }
+    }
+
+    private static List<String> process(DigestFilteringItemProcessor processor, List<String> ids) throws Exception {
+        final List<String> written = new ArrayList<>();
+        for (String id : ids) {
+            final UserBak userBak = processor.process(user(id));
+            if (userBak != null) {
+                written.add(userBak.getId());
+            }
+        }
+        return written;
+    }
+
+    private static List<String> ids(int count) {
+        return IntStream.range(0, count).mapToObj(i -> String.format("id%02d", i)).collect(Collectors.toList());
+    }
+
+    private static User user(String id) {
+        final User user = User.builder().email(id + "@test.com").name(id).build();
+        ReflectionTestUtils.setField(user, "id", id);
+        return user;
+    }
+
+    /**
+     * records the from id and the row count of every window query.
+     */
+    private static class RecordingJdbcTemplate extends JdbcTemplate {
+        private final List<Object> windows = new ArrayList<>();
+        private final List<Integer> rows = new ArrayList<>();
+
+        private RecordingJdbcTemplate() {
+            super(new DriverManagerDataSource("jdbc:h2:mem:digest;MODE=MariaDB;DB_CLOSE_DELAY=-1"));
+        }
+
+        @Override
+        public <T> List<T> query(String sql, RowMapper<T> rowMapper, Object... args) {
+            final List<T> result = super.query(sql, rowMapper, args);
+            windows.add(args[0]);
+            rows.add(result.size());
+            return result;
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.minseok.batch.reader;
+
+import com.minseok.batch.entity.User;
+import com.minseok.batch.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("h2")
+class KeysetPagingItemReaderTests {
+    private static final int USERS = 10;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    private final AtomicInteger pages = new AtomicInteger();
+    private List<String> ids;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("delete from tb_user_bak");
+        jdbcTemplate.update("delete from tb_user");
+        userRepository.saveAll(IntStream.range(0, USERS)
+                .mapToObj(i -> User.builder().email("user" + i + "@test.com").name("name" + i).build())
+                .collect(Collectors.toList()));
+        ids = jdbcTemplate.queryForList("select id from tb_user order by id", String.class);
+    }
+
+    @Test
+    void lastPageOfExactlyThePageSizeIsFollowedByAnEmptyPage() throws Exception {
+        final KeysetPagingItemReader<User> reader = reader(5, null, null, false);
+
+        assertThat(readAll(reader, new ExecutionContext())).containsExactlyElementsOf(ids);
+        // two full pages, the empty third one ends the read
+        assertThat(pages).hasValue(3);
+    }
+
+    @Test
+    void shortPageEndsTheReadWithoutAnotherQuery() throws Exception {
+        final KeysetPagingItemReader<User> reader = reader(4, null, null, false);
+
+        assertThat(readAll(reader, new ExecutionContext())).containsExactlyElementsOf(ids);
+        assertThat(pages).hasValue(3);
+    }
+
+    @Test
+    void startKeyIsInclusiveAndEndKeyExclusive() throws Exception {
+        final KeysetPagingItemReader<User> reader = reader(2, ids.get(2), ids.get(7), false);
+
+        assertThat(readAll(reader, new ExecutionContext())).containsExactlyElementsOf(ids.subList(2, 7));
+    }
+
+    @Test
+    void endKeyIsInclusiveForTheLastPartition() throws Exception {
+        final KeysetPagingItemReader<User> reader = reader(2, ids.get(2), ids.get(7), true);
+
+        assertThat(readAll(reader, new ExecutionContext())).containsExactlyElementsOf(ids.subList(2, 8));
+    }
+
+    @Test
+    void restartResumesAfterTheLastKey() throws Exception {
+        final ExecutionContext executionContext = new ExecutionContext();
+        final KeysetPagingItemReader<User> failed = reader(3, ids.get(1), null, false);
+        final List<String> read = new ArrayList<>();
+        failed.open(executionContext);
+        try {
+            // the restart position falls in the middle of the second page
+            for (int i = 0; i < 4; i++) {
+                read.add(failed.read().getId());
+            }
+            failed.update(executionContext);
+        } finally {
+            failed.close();
+        }
+        assertThat(executionContext.getString("test.last.key")).isEqualTo(ids.get(4));
+
+        final KeysetPagingItemReader<User> restarted = reader(3, ids.get(1), null, false);
+        read.addAll(readAll(restarted, executionContext));
+
+        assertThat(read).containsExactlyElementsOf(ids.subList(1, USERS));
+    }
+
+    @Test
+    void checkpointSavesTheConsumedItemInsteadOfTheLastRead() throws Exception {
+        final ExecutionContext executionContext = new ExecutionContext();
+        final KeysetPagingItemReader<User> reader = reader(5, null, null, false);
+        reader.open(executionContext);
+        try {
+            final User consumed = reader.read();
+            reader.read();
+            reader.read();
+            reader.checkpoint(executionContext, consumed);
+        } finally {
+            reader.close();
+        }
+
+        assertThat(readAll(reader(5, null, null, false), executionContext)).containsExactlyElementsOf(ids.subList(1, USERS));
+    }
+
+    private KeysetPagingItemReader<User> reader(int pageSize, String startKey, String endKey, boolean endInclusive) {
+        return new KeysetPagingItemReaderBuilder<User>()
+                .name("test")
+                .saveState(true)
+                .entityManagerFactory(entityManagerFactory)
+                .entityClass(User.class)
+                .key("id", User::getId)
+                .startKey(startKey)
+                .endKey(endKey, endInclusive)
+                .pageSize(() -> {
+                    pages.incrementAndGet();
+                    return pageSize;
+                })
+                .build();
+    }
+
+    private static List<String> readAll(KeysetPagingItemReader<User> reader, ExecutionContext executionContext) throws Exception {
+        final List<String> read = new ArrayList<>();
+        reader.open(executionContext);
+        try {
+            for (User user = reader.read(); user != null; user = reader.read()) {
+                read.add(user.getId());
+            }
+            // the end is sticky, no further page is loaded
+            assertThat(reader.read()).isNull();
+        } finally {
+            reader.close();
+        }
+        return read;
+    }
+}
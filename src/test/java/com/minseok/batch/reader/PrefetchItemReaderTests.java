@@ -0,0 +1,173 @@
+package com.minseok.batch.reader;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamReader;
+import org.springframework.batch.item.NonTransientResourceException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+class PrefetchItemReaderTests {
+    private static final int CONSUMERS = 8;
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+    private final ExecutorService consumers = Executors.newFixedThreadPool(CONSUMERS);
+
+    @AfterEach
+    void tearDown() {
+        consumers.shutdownNow();
+    }
+
+    @Test
+    void everyItemIsReadExactlyOnceByConcurrentConsumers() throws Exception {
+        final int itemCount = 20_000;
+        final PrefetchItemReader<Integer> reader = new PrefetchItemReader<>("test", new StubReader(itemCount, -1, null), 16);
+        final ConcurrentLinkedQueue<Integer> items = new ConcurrentLinkedQueue<>();
+        reader.open(new ExecutionContext());
+        try {
+            for (Future<?> consumer : consume(() -> {
+                for (Integer item = reader.read(); item != null; item = reader.read()) {
+                    items.add(item);
+                }
+                return null;
+            })) {
+                consumer.get(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+            }
+        } finally {
+            reader.close();
+        }
+
+        assertThat(items).hasSize(itemCount).doesNotHaveDuplicates();
+        assertThat(items).containsExactlyInAnyOrderElementsOf(IntStream.range(0, itemCount).boxed().collect(Collectors.toList()));
+    }
+
+    @Test
+    void endMarkerIsLeftForTheOtherBlockedConsumers() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+        final PrefetchItemReader<Integer> reader = new PrefetchItemReader<>("test", new StubReader(0, -1, release), 16);
+        reader.open(new ExecutionContext());
+        try {
+            // every consumer waits in the empty queue until the delegate reaches its end
+            final List<Future<Integer>> results = consume(reader::read);
+            TimeUnit.MILLISECONDS.sleep(100);
+            release.countDown();
+
+            for (Future<Integer> result : results) {
+                assertThat(result.get(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)).isNull();
+            }
+            assertThat(reader.read()).isNull();
+        } finally {
+            reader.close();
+        }
+    }
+
+    @Test
+    void producerFailureReachesEveryConsumer() throws Exception {
+        final PrefetchItemReader<Integer> reader = new PrefetchItemReader<>("test", new StubReader(100, 50, null), 16);
+        final AtomicInteger itemCount = new AtomicInteger();
+        reader.open(new ExecutionContext());
+        try {
+            for (Future<NonTransientResourceException> consumer : consume(() -> {
+                try {
+                    while (reader.read() != null) {
+                        itemCount.incrementAndGet();
+                    }
+                    return null;
+                } catch (NonTransientResourceException e) {
+                    return e;
+                }
+            })) {
+                assertThat(consumer.get(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS))
+                        .isInstanceOf(NonTransientResourceException.class)
+                        .hasRootCauseMessage("read failed at 50");
+            }
+            assertThat(itemCount).hasValue(50);
+            assertThatThrownBy(reader::read).isInstanceOf(NonTransientResourceException.class);
+        } finally {
+            reader.close();
+        }
+    }
+
+    @Test
+    void closeWithAFullQueueDoesNotHang() throws Exception {
+        final StubReader delegate = new StubReader(Integer.MAX_VALUE, -1, null);
+        final PrefetchItemReader<Integer> reader = new PrefetchItemReader<>("test", delegate, 4);
+        reader.open(new ExecutionContext());
+        // the producer blocks on the full queue after the capacity plus the item in hand
+        while (delegate.reads.get() < 5) {
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+
+        assertTimeoutPreemptively(TIMEOUT, reader::close);
+        assertThat(delegate.closed).isTrue();
+    }
+
+    private <V> List<Future<V>> consume(Callable<V> consumer) {
+        final List<Future<V>> results = new ArrayList<>();
+        for (int i = 0; i < CONSUMERS; i++) {
+            results.add(consumers.submit(consumer));
+        }
+        return results;
+    }
+
+    /**
+     * reads 0..count-1, optionally fails at one index or waits for a latch before the end.
+     */
+    private static class StubReader implements ItemStreamReader<Integer> {
+        private final int count;
+        private final int failAt;
+        private final CountDownLatch beforeEnd;
+        private final AtomicInteger reads = new AtomicInteger();
+        private volatile boolean closed;
+
+        private StubReader(int count, int failAt, CountDownLatch beforeEnd) {
+            this.count = count;
+            this.failAt = failAt;
+            this.beforeEnd = beforeEnd;
+        }
+
+        @Override
+        public Integer read() throws Exception {
+            final int index = reads.getAndIncrement();
+            if (index == failAt) {
+                throw new IllegalStateException("read failed at " + index);
+            }
+            if (index >= count) {
+                if (beforeEnd != null) {
+                    beforeEnd.await();
+                }
+                return null;
+            }
+            return index;
+        }
+
+        @Override
+        public void open(ExecutionContext executionContext) {
+        }
+
+        @Override
+        public void update(ExecutionContext executionContext) {
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.minseok.batch.tasklet;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobInstance;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.explore.JobExplorer;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.scope.context.StepContext;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PartFileMergeTaskletTests {
+    private static final String PARTITION_STEP = "testPartitionStep";
+    private final JobExplorer jobExplorer = mock(JobExplorer.class);
+    private final JobInstance jobInstance = new JobInstance(1L, "testJob");
+    @TempDir
+    Path directory;
+    private Path target;
+    private PartFileMergeTasklet tasklet;
+    private StepExecution mergeExecution;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        target = directory.resolve("users.csv");
+        tasklet = new PartFileMergeTasklet(target, "id,email", jobExplorer, PARTITION_STEP, this::part);
+        // the first execution ran every partition and failed on partition 1, the restart only re-ran partition 1
+        final JobExecution failed = jobExecution(1L, 0, 1, 2);
+        final JobExecution restarted = jobExecution(2L, 1);
+        mergeExecution = restarted.createStepExecution("testMergeStep");
+        when(jobExplorer.getJobExecutions(jobInstance)).thenReturn(List.of(restarted, failed));
+        for (int partitionNumber = 0; partitionNumber < 3; partitionNumber++) {
+            Files.writeString(part(partitionNumber), "line" + partitionNumber + "\n");
+        }
+    }
+
+    @Test
+    void partitionsOfEveryExecutionAreMergedInPartitionOrder() throws Exception {
+        execute();
+
+        assertThat(Files.readString(target)).isEqualTo("id,email" + System.lineSeparator() + "line0\nline1\nline2\n");
+    }
+
+    @Test
+    void partsAreDeletedOnlyOnceTheStepIsCompleted() throws Exception {
+        tasklet.beforeStep(mergeExecution);
+        execute();
+        assertThat(part(0)).exists();
+
+        mergeExecution.setStatus(BatchStatus.FAILED);
+        tasklet.afterStep(mergeExecution);
+        assertThat(part(0)).exists();
+        assertThat(part(2)).exists();
+
+        mergeExecution.setStatus(BatchStatus.COMPLETED);
+        tasklet.afterStep(mergeExecution);
+        assertThat(part(0)).doesNotExist();
+        assertThat(part(1)).doesNotExist();
+        assertThat(part(2)).doesNotExist();
+    }
+
+    @Test
+    void missingPartFailsTheMerge() throws Exception {
+        Files.delete(part(2));
+
+        assertThatThrownBy(this::execute)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("missing part files")
+                .hasMessageContaining(part(2).toString());
+        assertThat(target).doesNotExist();
+    }
+
+    private void execute() throws Exception {
+        tasklet.execute(new StepContribution(mergeExecution), new ChunkContext(new StepContext(mergeExecution)));
+    }
+
+    private JobExecution jobExecution(Long id, int... partitionNumbers) {
+        final JobExecution jobExecution = new JobExecution(jobInstance, id, new JobParameters(), null);
+        for (int partitionNumber : partitionNumbers) {
+            final StepExecution stepExecution = jobExecution.createStepExecution(PARTITION_STEP + ":partition" + partitionNumber);
+            stepExecution.getExecutionContext().putInt("partitionNumber", partitionNumber);
+        }
+        return jobExecution;
+    }
+
+    private Path part(int partitionNumber) {
+        return directory.resolve("users.csv.part-" + partitionNumber);
+    }
+}
@@ -0,0 +1,102 @@
+package com.minseok.batch.tasklet;
+
+import com.minseok.batch.entity.User;
+import com.minseok.batch.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.configuration.annotation.StepBuilderFactory;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("h2")
+class UserBakChecksumTaskletTests {
+    private static final String COPY = "insert into tb_user_bak (id, email, password, name, nickname, mobile, created_at, modified_at)"
+            + " select id, email, password, name, nickname, mobile, created_at, modified_at from tb_user";
+    private static final int USERS = 200;
+    // small leaves, so the differing ranges are split a few times before they are diffed row by row
+    private static final int LEAF_SIZE = 4;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private StepBuilderFactory stepBuilderFactory;
+    @Autowired
+    private JobRepository jobRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    private List<String> ids;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("delete from tb_user_bak");
+        jdbcTemplate.update("delete from tb_user");
+        userRepository.saveAll(IntStream.range(0, USERS)
+                .mapToObj(i -> User.builder()
+                        .email("user" + i + "@test.com")
+                        .name("name" + i)
+                        .nickname(i % 4 == 0 ? null : "nickname" + i)
+                        .build())
+                .collect(Collectors.toList()));
+        jdbcTemplate.update(COPY);
+        ids = jdbcTemplate.queryForList("select id from tb_user order by id", String.class);
+    }
+
+    @Test
+    void identicalTablesComplete() throws Exception {
+        final StepExecution stepExecution = verify("identical");
+
+        assertThat(stepExecution.getExitStatus().getExitCode()).isEqualTo(ExitStatus.COMPLETED.getExitCode());
+        assertThat(stepExecution.getExecutionContext().getLong("verify.rows")).isEqualTo(USERS);
+        assertThat(stepExecution.getExecutionContext().getLong("verify.mismatches")).isZero();
+        // the matching digests of the whole range end the comparison
+        assertThat(stepExecution.getExecutionContext().getInt("verify.ranges")).isEqualTo(1);
+    }
+
+    @Test
+    void changedMissingAndOrphanRowsAreReported() throws Exception {
+        final String changedId = ids.get(17);
+        final String missingId = ids.get(101);
+        // after every uuid of tb_user
+        final String orphanId = "ffffffffffffffffffffffffffffffff";
+        jdbcTemplate.update("update tb_user_bak set nickname = 'changed' where id = ?", changedId);
+        jdbcTemplate.update("delete from tb_user_bak where id = ?", missingId);
+        jdbcTemplate.update("insert into tb_user_bak (id, email, created_at) select ?, 'orphan@test.com', created_at from tb_user where id = ?"
+                , orphanId, ids.get(0));
+
+        final StepExecution stepExecution = verify("mismatch");
+
+        assertThat(stepExecution.getExitStatus().getExitCode()).isEqualTo(UserBakChecksumTasklet.EXIT_CODE_MISMATCH);
+        assertThat(stepExecution.getExecutionContext().getLong("verify.mismatches")).isEqualTo(3);
+        assertThat(stepExecution.getExecutionContext().getString("verify.mismatchedIds").split(","))
+                .containsExactly(changedId, missingId, orphanId);
+        assertThat(stepExecution.getExecutionContext().getInt("verify.ranges")).isGreaterThan(1);
+    }
+
+    private StepExecution verify(String name) throws Exception {
+        final JobExecution jobExecution = jobRepository.createJobExecution("userBakChecksumTaskletTestJob"
+                , new JobParametersBuilder().addString("case", name).toJobParameters());
+        final StepExecution stepExecution = jobExecution.createStepExecution("userBakChecksumTaskletTestStep");
+        jobRepository.add(stepExecution);
+        stepBuilderFactory.get("userBakChecksumTaskletTestStep")
+                .tasklet(new UserBakChecksumTasklet(entityManagerFactory, null, null, false, LEAF_SIZE))
+                .build()
+                .execute(stepExecution);
+        return stepExecution;
+    }
+}
@@ -0,0 +1,111 @@
+package com.minseok.batch.writer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.scope.context.StepSynchronizationManager;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.batch.support.transaction.ResourcelessTransactionManager;
+import org.springframework.batch.test.MetaDataInstanceFactory;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.retry.backoff.NoBackOffPolicy;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ConflictIsolatingItemWriterTests {
+    private static final List<String> ITEMS = List.of("aa01", "aa02", "aa03", "aa04", "aa05", "aa06", "aa07", "aa08");
+
+    @AfterEach
+    void tearDown() {
+        StepSynchronizationManager.close();
+    }
+
+    @Test
+    void cleanHalvesAreCommittedOnceAndOnlyTheConflictingItemIsRetried() throws Exception {
+        final ConflictingWriter delegate = new ConflictingWriter(Map.of("aa03", 1));
+
+        writer(delegate, 3).write(ITEMS);
+
+        assertThat(delegate.committed).containsExactly(
+                List.of("aa01", "aa02"), List.of("aa03"), List.of("aa04"), List.of("aa05", "aa06", "aa07", "aa08"));
+        assertThat(delegate.committed.stream().flatMap(List::stream)).containsExactlyInAnyOrderElementsOf(ITEMS);
+        assertThat(delegate.attempts).filteredOn(List.of("aa03")::equals).hasSize(2);
+        assertThat(delegate.attempts).filteredOn(attempt -> attempt.size() == 1 && !attempt.contains("aa03")).containsExactly(List.of("aa04"));
+    }
+
+    @Test
+    void exhaustingTheRetryLimitRethrowsTheConflict() {
+        final ConflictingWriter delegate = new ConflictingWriter(Map.of("aa03", Integer.MAX_VALUE));
+
+        assertThatThrownBy(() -> writer(delegate, 3).write(ITEMS)).isInstanceOf(PessimisticLockingFailureException.class);
+
+        // the single write of the split and three retries
+        assertThat(delegate.attempts).filteredOn(List.of("aa03")::equals).hasSize(4);
+        assertThat(delegate.committed).containsExactly(List.of("aa01", "aa02"));
+    }
+
+    @Test
+    void otherFailuresAreNotSplit() {
+        final ItemWriter<String> delegate = items -> {
+            throw new IllegalArgumentException("not a conflict");
+        };
+
+        assertThatThrownBy(() -> writer(delegate, 3).write(ITEMS)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void hotspotsAndSplitsAreReportedToTheStepExecutionContext() throws Exception {
+        final StepExecution stepExecution = MetaDataInstanceFactory.createStepExecution();
+        StepSynchronizationManager.register(stepExecution);
+        final ConflictingWriter delegate = new ConflictingWriter(Map.of("aa01", 1, "aa02", 1, "bb01", 1));
+
+        writer(delegate, 3).write(List.of("aa01", "aa02", "bb01", "bb02"));
+
+        assertThat(stepExecution.getExecutionContext().getLong("conflict.splits")).isEqualTo(3);
+        assertThat(stepExecution.getExecutionContext().getString("conflict.hotspots")).isEqualTo("aa:2,bb:1");
+        assertThat(delegate.committed.stream().flatMap(List::stream)).containsExactlyInAnyOrder("aa01", "aa02", "bb01", "bb02");
+    }
+
+    private ConflictIsolatingItemWriter<String> writer(ItemWriter<String> delegate, int retryLimit) {
+        final ConflictIsolatingItemWriter<String> writer = new ConflictIsolatingItemWriter<>(delegate, new ResourcelessTransactionManager()
+                , Function.identity(), List.of(PessimisticLockingFailureException.class), retryLimit);
+        writer.setBackOffPolicy(new NoBackOffPolicy());
+        return writer;
+    }
+
+    /**
+     * fails every write that holds a conflicting id, until the id was written alone the given number of times.
+     */
+    private static class ConflictingWriter implements ItemWriter<String> {
+        private final Map<String, Integer> conflicts;
+        private final List<List<String>> attempts = new ArrayList<>();
+        private final List<List<String>> committed = new ArrayList<>();
+
+        private ConflictingWriter(Map<String, Integer> conflicts) {
+            this.conflicts = new HashMap<>(conflicts);
+        }
+
+        @Override
+        public void write(List<? extends String> items) {
+            final List<String> attempt = List.copyOf(items);
+            attempts.add(attempt);
+            for (String item : attempt) {
+                final int remaining = conflicts.getOrDefault(item, 0);
+                if (remaining > 0) {
+                    if (attempt.size() == 1) {
+                        conflicts.put(item, remaining - 1);
+                    }
+                    throw new PessimisticLockingFailureException("lock wait timeout: " + item);
+                }
+            }
+            committed.add(attempt);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.minseok.batch.writer;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.batch.item.ExecutionContext;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FileChannelItemWriterTests {
+    @TempDir
+    Path directory;
+
+    @Test
+    void restartTruncatesTheUncommittedLines() throws Exception {
+        final Path path = directory.resolve("users.csv");
+        final ExecutionContext executionContext = new ExecutionContext();
+        final FileChannelItemWriter<String> failed = writer(path);
+        failed.open(executionContext);
+        try {
+            failed.write(List.of("a1", "a2"));
+            failed.update(executionContext);
+            // written, but the chunk fails before its commit saves the position
+            failed.write(List.of("b1", "b2"));
+        } finally {
+            failed.close();
+        }
+        assertThat(executionContext.getLong("test.position")).isEqualTo(6);
+        assertThat(Files.readString(path)).isEqualTo("a1\na2\nb1\nb2\n");
+
+        final FileChannelItemWriter<String> restarted = writer(path);
+        restarted.open(executionContext);
+        try {
+            restarted.write(List.of("b1", "b2"));
+            restarted.update(executionContext);
+        } finally {
+            restarted.close();
+        }
+
+        assertThat(Files.readString(path)).isEqualTo("a1\na2\nb1\nb2\n");
+        assertThat(executionContext.getLong("test.position")).isEqualTo(12);
+    }
+
+    @Test
+    void restartBeforeTheFirstCommitStartsAnEmptyFile() throws Exception {
+        final Path path = directory.resolve("users.csv");
+        Files.writeString(path, "left over from an earlier run\n");
+        final FileChannelItemWriter<String> writer = writer(path);
+        writer.open(new ExecutionContext());
+        try {
+            writer.write(List.of("\uc720\uc800"));
+        } finally {
+            writer.close();
+        }
+
+        assertThat(Files.readString(path, StandardCharsets.UTF_8)).isEqualTo("\uc720\uc800\n");
+    }
+
+    private static FileChannelItemWriter<String> writer(Path path) {
+        // a buffer smaller than a chunk, so the chunks are written in several flushes
+        final FileChannelItemWriter<String> writer = new FileChannelItemWriter<>(path, item -> item, 4);
+        writer.setName("test");
+        writer.setLineSeparator("\n");
+        return writer;
+    }
+}
@@ -0,0 +1,2 @@
+create alias if not exists md5 for 'com.minseok.batch.H2Functions.md5';
+create alias if not exists crc32 for 'com.minseok.batch.H2Functions.crc32';